@@ -0,0 +1,67 @@
+package edu.eci.arsw.blueprints.dto;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+
+/**
+ * Serialización con Jackson de la respuesta de GET /api/v1/blueprints:
+ * {@code ApiResponse<Set<Blueprint>>} con {@code blueprints} blueprints de {@code points} puntos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ApiResponseSerializationJmhBenchmark {
+
+    @Param({"10", "1000"})
+    int blueprints;
+
+    @Param({"10", "1000"})
+    int points;
+
+    private ObjectWriter writer;
+    private ApiResponse<Set<Blueprint>> response;
+
+    @Setup
+    public void setup() {
+        writer = new ObjectMapper().writer();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Set<Blueprint> set = new HashSet<>();
+        for (int b = 0; b < blueprints; b++) {
+            PointBuffer buffer = new PointBuffer();
+            for (int i = 0; i < points; i++) {
+                buffer.add(random.nextInt(10_000), random.nextInt(10_000));
+            }
+            set.add(new Blueprint("author" + (b % 10), "bp" + b, buffer));
+        }
+        response = ApiResponse.success(set);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+}
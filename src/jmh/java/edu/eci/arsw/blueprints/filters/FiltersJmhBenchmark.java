@@ -0,0 +1,65 @@
+package edu.eci.arsw.blueprints.filters;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+
+/**
+ * Costo de aplicar los filtros de reducción de puntos sobre un blueprint de {@code points}
+ * puntos; aproximadamente uno de cada cuatro puntos repite al anterior.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FiltersJmhBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    int points;
+
+    private Blueprint blueprint;
+    private final RedundancyFilter redundancy = new RedundancyFilter();
+    private final UndersamplingFilter undersampling = new UndersamplingFilter();
+
+    @Setup
+    public void setup() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        PointBuffer buffer = new PointBuffer();
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < points; i++) {
+            if (random.nextInt(4) != 0) {
+                x += random.nextInt(-5, 6);
+                y += random.nextInt(-5, 6);
+            }
+            buffer.add(x, y);
+        }
+        blueprint = new Blueprint("bench", "bp", buffer);
+    }
+
+    @Benchmark
+    public Blueprint redundancy() {
+        return redundancy.apply(blueprint);
+    }
+
+    @Benchmark
+    public Blueprint undersampling() {
+        return undersampling.apply(blueprint);
+    }
+}
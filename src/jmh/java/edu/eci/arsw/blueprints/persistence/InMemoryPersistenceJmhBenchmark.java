@@ -0,0 +1,87 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+
+/**
+ * Lecturas y escrituras concurrentes sobre {@link InMemoryBlueprintPersistence} con
+ * {@code blueprints} blueprints repartidos en 100 autores. El grupo "mixed" corre 3 lectores
+ * y 1 escritor sobre la misma instancia; "reads" mide las lecturas sin escritores.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+public class InMemoryPersistenceJmhBenchmark {
+
+    private static final int AUTHORS = 100;
+
+    @Param({"1000", "100000"})
+    int blueprints;
+
+    private InMemoryBlueprintPersistence persistence;
+
+    @Setup
+    public void setup() throws BlueprintPersistenceException {
+        persistence = new InMemoryBlueprintPersistence();
+        List<Point> points = List.of(new Point(0, 0), new Point(10, 10), new Point(20, 0));
+        for (int i = 0; i < blueprints; i++) {
+            persistence.saveBlueprint(new Blueprint("author" + (i % AUTHORS), "bp" + i, points));
+        }
+    }
+
+    private Blueprint randomLookup() throws BlueprintNotFoundException {
+        int i = ThreadLocalRandom.current().nextInt(blueprints);
+        return persistence.getBlueprint("author" + (i % AUTHORS), "bp" + i);
+    }
+
+    @Benchmark
+    @Group("reads")
+    @GroupThreads(4)
+    public Blueprint readOnly() throws BlueprintNotFoundException {
+        return randomLookup();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Blueprint mixedRead() throws BlueprintNotFoundException {
+        return randomLookup();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedAppend() throws BlueprintNotFoundException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(blueprints);
+        persistence.addPoint("author" + (i % AUTHORS), "bp" + i, random.nextInt(1000), random.nextInt(1000));
+    }
+
+    @Benchmark
+    @Group("authors")
+    @GroupThreads(4)
+    public int byAuthor() throws BlueprintNotFoundException {
+        return persistence.getBlueprintsByAuthor("author" + ThreadLocalRandom.current().nextInt(AUTHORS)).size();
+    }
+}
@@ -0,0 +1,70 @@
+package edu.eci.arsw.blueprints.persistence.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.eci.arsw.blueprints.codec.PointCodec;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+
+/**
+ * Decodificación de la columna de puntos que hace el RowMapper de
+ * {@link PostgresBlueprintPersistence}: JSONB (texto como lo entrega el driver) contra
+ * points_bin. No necesita base de datos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PostgresRowDecodeJmhBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int points;
+
+    private PostgresBlueprintPersistence persistence;
+    private String json;
+    private byte[] binary;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        persistence = new PostgresBlueprintPersistence(null, mapper);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Point> list = new ArrayList<>(points);
+        for (int i = 0; i < points; i++) {
+            list.add(new Point(random.nextInt(10_000), random.nextInt(10_000)));
+        }
+        // PostgreSQL devuelve jsonb con un espacio tras ':' y ','
+        json = mapper.writeValueAsString(list).replace(":", ": ").replace(",", ", ");
+        binary = PointCodec.encode(list);
+    }
+
+    @Benchmark
+    public List<Point> jsonb() throws IOException {
+        return persistence.decodePointsJson(json);
+    }
+
+    @Benchmark
+    public PointBuffer binary() {
+        return PointCodec.decode(binary);
+    }
+}
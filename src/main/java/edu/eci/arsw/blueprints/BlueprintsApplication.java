@@ -3,8 +3,10 @@ package edu.eci.arsw.blueprints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 @ComponentScan(basePackages = {"edu.eci.arsw.blueprints"})
 public class BlueprintsApplication {
     public static void main(String[] args) {
@@ -0,0 +1,184 @@
+package edu.eci.arsw.blueprints.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+
+/**
+ * Formato binario de respuestas ({@value #MEDIA_TYPE}), alternativo a JSON.
+ *
+ * <pre>
+ * "BPB1"                          4 bytes, versión del formato
+ * varint n                        cantidad de blueprints
+ * n veces:
+ *   varint len, len bytes UTF-8   autor
+ *   varint len, len bytes UTF-8   nombre
+ *   varint len, len bytes         puntos en el formato de {@link PointCodec}
+ * </pre>
+ *
+ * Los varint son LEB128 sin signo (7 bits por byte, primero los bajos). Esta clase solo depende
+ * del modelo, así que los clientes Java pueden usar {@link #decode(byte[])} tal cual.
+ *
+ * Para colecciones de tamaño desconocido ({@value #STREAM_MEDIA_TYPE}) el encabezado es "BPS1",
+ * no va la cantidad y los registros siguen hasta el final del stream; ver {@link StreamWriter}
+ * y {@link StreamReader}.
+ */
+public final class BlueprintBinaryCodec {
+
+    public static final String MEDIA_TYPE = "application/vnd.blueprints+binary";
+
+    public static final String STREAM_MEDIA_TYPE = "application/vnd.blueprints-stream+binary";
+
+    private static final byte[] MAGIC = {'B', 'P', 'B', '1'};
+    private static final byte[] STREAM_MAGIC = {'B', 'P', 'S', '1'};
+    // Ningún registro legítimo se acerca a esto; evita reservar memoria por un largo corrupto
+    private static final int MAX_FIELD_BYTES = 1 << 30;
+
+    private BlueprintBinaryCodec() {
+    }
+
+    public static byte[] encode(Collection<Blueprint> blueprints) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + blueprints.size() * 64);
+        out.writeBytes(MAGIC);
+        writeVarint(out, blueprints.size());
+        for (Blueprint bp : blueprints) {
+            writeBytes(out, bp.getAuthor().getBytes(StandardCharsets.UTF_8));
+            writeBytes(out, bp.getName().getBytes(StandardCharsets.UTF_8));
+            writeBytes(out, PointCodec.encode(bp.snapshot()));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException si los datos no están en este formato o están truncados
+     */
+    public static List<Blueprint> decode(byte[] data) {
+        if (data.length < MAGIC.length || !Arrays.equals(data, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+            throw new IllegalArgumentException("No es una respuesta " + MEDIA_TYPE);
+        }
+        int[] pos = {MAGIC.length};
+        int n = PointCodec.readVarint(data, pos);
+        // Cada registro ocupa al menos los tres varint de largo: se rechaza antes de reservar la lista
+        if (n < 0 || n > (data.length - pos[0]) / 3) {
+            throw new IllegalArgumentException("Cantidad de blueprints inválida: " + n);
+        }
+        List<Blueprint> blueprints = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String author = readString(data, pos);
+            String name = readString(data, pos);
+            int len = readLength(data, pos);
+            blueprints.add(new Blueprint(author, name, PointCodec.decode(data, pos[0], pos[0] + len)));
+            pos[0] += len;
+        }
+        return blueprints;
+    }
+
+    /**
+     * Escribe blueprints uno a uno en formato de stream; no guarda nada entre registros.
+     */
+    public static final class StreamWriter {
+        private final OutputStream out;
+        private final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+
+        public StreamWriter(OutputStream out) throws IOException {
+            this.out = out;
+            out.write(STREAM_MAGIC);
+        }
+
+        public void write(Blueprint bp) throws IOException {
+            record.reset();
+            writeBytes(record, bp.getAuthor().getBytes(StandardCharsets.UTF_8));
+            writeBytes(record, bp.getName().getBytes(StandardCharsets.UTF_8));
+            writeBytes(record, PointCodec.encode(bp.snapshot()));
+            record.writeTo(out);
+        }
+    }
+
+    /**
+     * Lee blueprints uno a uno de un stream escrito con {@link StreamWriter}. Conviene pasarle un
+     * stream con buffer: los varint se leen byte a byte.
+     */
+    public static final class StreamReader {
+        private final InputStream in;
+
+        /**
+         * @throws IllegalArgumentException si el stream no empieza con el encabezado del formato
+         */
+        public StreamReader(InputStream in) throws IOException {
+            this.in = in;
+            if (!Arrays.equals(in.readNBytes(STREAM_MAGIC.length), STREAM_MAGIC)) {
+                throw new IllegalArgumentException("No es un stream " + STREAM_MEDIA_TYPE);
+            }
+        }
+
+        /**
+         * El siguiente blueprint, o null al final del stream.
+         *
+         * @throws IllegalArgumentException si el stream termina a mitad de un registro
+         */
+        public Blueprint read() throws IOException {
+            int first = in.read();
+            if (first < 0) {
+                return null;
+            }
+            String author = new String(field(first), StandardCharsets.UTF_8);
+            String name = new String(field(in.read()), StandardCharsets.UTF_8);
+            return new Blueprint(author, name, PointCodec.decode(field(in.read())));
+        }
+
+        private byte[] field(int first) throws IOException {
+            int len = 0;
+            int b = first;
+            for (int shift = 0; ; shift += 7) {
+                if (b < 0) throw new IllegalArgumentException("Stream truncado", new EOFException());
+                if (shift > 28) throw new IllegalArgumentException("Varint inválido en el stream");
+                len |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) break;
+                b = in.read();
+            }
+            if (len < 0 || len > MAX_FIELD_BYTES) {
+                throw new IllegalArgumentException("Largo de campo inválido: " + len);
+            }
+            byte[] bytes = in.readNBytes(len);
+            if (bytes.length < len) throw new IllegalArgumentException("Stream truncado", new EOFException());
+            return bytes;
+        }
+    }
+
+    private static String readString(byte[] data, int[] pos) {
+        int len = readLength(data, pos);
+        String s = new String(data, pos[0], len, StandardCharsets.UTF_8);
+        pos[0] += len;
+        return s;
+    }
+
+    private static int readLength(byte[] data, int[] pos) {
+        int len = PointCodec.readVarint(data, pos);
+        if (len < 0 || len > data.length - pos[0]) {
+            throw new IllegalArgumentException("Datos truncados en la posición " + pos[0]);
+        }
+        return len;
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, byte[] bytes) {
+        writeVarint(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int v) {
+        while ((v & ~0x7F) != 0) {
+            out.write((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.write(v);
+    }
+}
@@ -0,0 +1,185 @@
+package edu.eci.arsw.blueprints.codec;
+
+import java.util.Arrays;
+import java.util.List;
+
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+import edu.eci.arsw.blueprints.model.PointSnapshot;
+
+/**
+ * Codificación binaria compacta de puntos: delta + zigzag + varint.
+ *
+ * Los datos son una secuencia de bloques; cada bloque es un varint con la cantidad de puntos
+ * seguido de, por punto, zigzag(dx) y zigzag(dy) como varints, con deltas medidos desde el
+ * punto anterior del mismo bloque (el primero desde (0,0)). Como cada bloque es independiente,
+ * agregar puntos es concatenar un bloque nuevo al final, sin decodificar lo existente.
+ * Los deltas se calculan con aritmética int y pueden desbordar: el decodificador desborda igual.
+ */
+public final class PointCodec {
+
+    private PointCodec() {
+    }
+
+    public static byte[] encode(PointSnapshot pts) {
+        Writer w = new Writer(pts.size() * 3 + 5);
+        w.varint(pts.size());
+        int px = 0;
+        int py = 0;
+        for (int i = 0; i < pts.size(); i++) {
+            int x = pts.x(i);
+            int y = pts.y(i);
+            w.varint(zigzag(x - px));
+            w.varint(zigzag(y - py));
+            px = x;
+            py = y;
+        }
+        return w.toByteArray();
+    }
+
+    public static byte[] encode(List<Point> pts) {
+        Writer w = new Writer(pts.size() * 3 + 5);
+        w.varint(pts.size());
+        int px = 0;
+        int py = 0;
+        for (Point p : pts) {
+            w.varint(zigzag(p.x() - px));
+            w.varint(zigzag(p.y() - py));
+            px = p.x();
+            py = p.y();
+        }
+        return w.toByteArray();
+    }
+
+    /**
+     * Decodifica todos los bloques directamente a un arreglo x/y intercalado, sin crear objetos Point.
+     */
+    public static PointBuffer decode(byte[] data) {
+        return decode(data, 0, data.length);
+    }
+
+    /**
+     * Decodifica los bloques en {@code data[from, to)}.
+     */
+    public static PointBuffer decode(byte[] data, int from, int to) {
+        // Un blueprint armado con N addPoint tiene N bloques: se cuentan primero y el arreglo se reserva una vez
+        long total = count(data, from, to);
+        if (total > Integer.MAX_VALUE >> 1) {
+            throw new IllegalArgumentException("Demasiados puntos: " + total);
+        }
+        int[] xy = new int[(int) total << 1];
+        int count = 0;
+        int[] pos = {from};
+        while (pos[0] < to) {
+            int n = readCount(data, pos, to);
+            int px = 0;
+            int py = 0;
+            for (int i = 0; i < n; i++) {
+                px += unzigzag(readVarint(data, pos, to));
+                py += unzigzag(readVarint(data, pos, to));
+                xy[count << 1] = px;
+                xy[(count << 1) + 1] = py;
+                count++;
+            }
+        }
+        return PointBuffer.wrap(xy, count);
+    }
+
+    /**
+     * Cantidad de puntos codificados; salta los deltas sin decodificarlos.
+     */
+    public static long count(byte[] data) {
+        return count(data, 0, data.length);
+    }
+
+    static long count(byte[] data, int from, int to) {
+        long count = 0;
+        int[] pos = {from};
+        while (pos[0] < to) {
+            int n = readCount(data, pos, to);
+            count += n;
+            for (int i = 0; i < n << 1; i++) {
+                skipVarint(data, pos, to);
+            }
+        }
+        return count;
+    }
+
+    static int zigzag(int n) {
+        return (n << 1) ^ (n >> 31);
+    }
+
+    static int unzigzag(int n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    /**
+     * Cantidad de puntos de un bloque. Los datos pueden venir de un cliente (importación): cada
+     * punto ocupa al menos dos bytes, así que una cantidad mayor que la que cabe en lo que queda
+     * se rechaza antes de reservar memoria para ella.
+     */
+    private static int readCount(byte[] data, int[] pos, int to) {
+        int at = pos[0];
+        int n = readVarint(data, pos, to);
+        if (n < 0 || n > (to - pos[0]) / 2) {
+            throw new IllegalArgumentException("Cantidad de puntos inválida en la posición " + at + ": " + Integer.toUnsignedString(n));
+        }
+        return n;
+    }
+
+    static int readVarint(byte[] data, int[] pos) {
+        return readVarint(data, pos, data.length);
+    }
+
+    static int readVarint(byte[] data, int[] pos, int to) {
+        int p = pos[0];
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (p >= to) {
+                throw new IllegalArgumentException("Datos de puntos truncados en la posición " + p);
+            }
+            byte b = data[p++];
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                pos[0] = p;
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Varint inválido en la posición " + pos[0]);
+    }
+
+    private static void skipVarint(byte[] data, int[] pos, int to) {
+        int p = pos[0];
+        while (p < to && data[p] < 0) {
+            p++;
+        }
+        if (p >= to) {
+            throw new IllegalArgumentException("Datos de puntos truncados en la posición " + pos[0]);
+        }
+        pos[0] = p + 1;
+    }
+
+    private static final class Writer {
+        private byte[] buf;
+        private int len;
+
+        Writer(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        void varint(int v) {
+            if (len + 5 > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, len + 5));
+            }
+            while ((v & ~0x7F) != 0) {
+                buf[len++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[len++] = (byte) v;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, len);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package edu.eci.arsw.blueprints.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import edu.eci.arsw.blueprints.persistence.BatchingBlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.CachingBlueprintPersistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Capas opcionales delante de la persistencia activa, de adentro hacia afuera:
+ * <ul>
+ *   <li>blueprints.persistence.batch.enabled: {@link BatchingBlueprintPersistence}</li>
+ *   <li>blueprints.persistence.cache.enabled: {@link CachingBlueprintPersistence}</li>
+ * </ul>
+ * Las capas quedan por fuera de los aspectos (métricas, limitador de concurrencia): un acierto
+ * del caché no ocupa un permiso ni se mide como operación del backend, y un lote agrupado
+ * cuenta como una sola.
+ *
+ * El bean envuelto deja de ser el registrado y Spring no llama su {@code @PreDestroy}: las capas
+ * son {@link AutoCloseable}, Spring llama su {@code close()} y ellas cierran la persistencia
+ * (p. ej. la snapshot final de la durable).
+ */
+@Configuration
+public class PersistenceLayersConfig {
+
+    @Bean
+    static BeanPostProcessor persistenceLayers(Environment env, ObjectProvider<MeterRegistry> registry) {
+        boolean cache = env.getProperty("blueprints.persistence.cache.enabled", Boolean.class, false);
+        long maxPoints = env.getProperty("blueprints.persistence.cache.max-points", Long.class, 2_000_000L);
+        long ttlMs = env.getProperty("blueprints.persistence.cache.ttl-ms", Long.class, 60_000L);
+        boolean batch = env.getProperty("blueprints.persistence.batch.enabled", Boolean.class, false);
+        long windowMicros = env.getProperty("blueprints.persistence.batch.window-us", Long.class, 500L);
+        int maxSize = env.getProperty("blueprints.persistence.batch.max-size", Integer.class, 128);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof BlueprintPersistence persistence)
+                        || bean instanceof BatchingBlueprintPersistence || bean instanceof CachingBlueprintPersistence) {
+                    return bean;
+                }
+                if (batch) {
+                    persistence = new BatchingBlueprintPersistence(persistence, windowMicros, maxSize, registry.getObject());
+                }
+                if (cache) {
+                    persistence = new CachingBlueprintPersistence(persistence, maxPoints, ttlMs);
+                }
+                return persistence;
+            }
+        };
+    }
+}
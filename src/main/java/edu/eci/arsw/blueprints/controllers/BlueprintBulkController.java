@@ -0,0 +1,216 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.eci.arsw.blueprints.codec.BlueprintBinaryCodec;
+import edu.eci.arsw.blueprints.controllers.BlueprintsAPIController.NewBlueprintRequest;
+import edu.eci.arsw.blueprints.dto.ApiResponse;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Importación y exportación masiva en NDJSON (un blueprint por línea, como en
+ * {@code POST /api/v1/blueprints}) o en el stream binario ({@value BlueprintBinaryCodec#STREAM_MEDIA_TYPE}).
+ * Los blueprints se leen y escriben uno a uno, así que la memoria no depende del tamaño de la colección.
+ */
+@RestController
+@RequestMapping("/api/v1/bulk")
+@Tag(name = "Bulk", description = "Importación y exportación masiva de blueprints")
+public class BlueprintBulkController {
+
+    private static final MediaType STREAM = MediaType.parseMediaType(BlueprintBinaryCodec.STREAM_MEDIA_TYPE);
+
+    private final BlueprintsServices services;
+    private final ObjectMapper objectMapper;
+    private final int progressEvery;
+
+    public BlueprintBulkController(BlueprintsServices services, ObjectMapper objectMapper,
+                                   @Value("${blueprints.bulk.progress-every:10000}") int progressEvery) {
+        this.services = services;
+        this.objectMapper = objectMapper;
+        this.progressEvery = progressEvery;
+    }
+
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, BlueprintBinaryCodec.STREAM_MEDIA_TYPE})
+    @Operation(summary = "Exportar todos los blueprints",
+               description = "Todos los blueprints sin filtrar, en NDJSON o en el stream binario según Accept")
+    public ResponseEntity<StreamingResponseBody> export(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (acceptsStream(accept)) {
+            return ResponseEntity.ok().contentType(STREAM).body(out -> {
+                BufferedOutputStream buffered = new BufferedOutputStream(out);
+                BlueprintBinaryCodec.StreamWriter writer = new BlueprintBinaryCodec.StreamWriter(buffered);
+                exportTo(buffered, writer::write);
+            });
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(out -> {
+            BufferedOutputStream buffered = new BufferedOutputStream(out);
+            exportTo(buffered, bp -> {
+                buffered.write(objectMapper.writeValueAsBytes(bp));
+                buffered.write('\n');
+            });
+        });
+    }
+
+    @FunctionalInterface
+    private interface BlueprintWriter {
+        void write(Blueprint bp) throws IOException;
+    }
+
+    private void exportTo(OutputStream out, BlueprintWriter writer) throws IOException {
+        try {
+            services.exportBlueprints(bp -> {
+                try {
+                    writer.write(bp);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    private static boolean acceptsStream(String accept) {
+        if (accept == null || !accept.contains(STREAM.getSubtype())) return false;
+        try {
+            List<MediaType> types = MediaType.parseMediaTypes(accept);
+            MediaType.sortBySpecificityAndQuality(types);
+            for (MediaType type : types) {
+                if (STREAM.equalsTypeAndSubtype(type) && type.getQualityValue() > 0) return true;
+                if (MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(type)) return false;
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return false;
+    }
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, BlueprintBinaryCodec.STREAM_MEDIA_TYPE},
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Importar blueprints",
+               description = "Guarda los blueprints del cuerpo (NDJSON o stream binario) a medida que llegan. La respuesta es NDJSON: "
+                       + "una línea {blueprints, elapsedMs, blueprintsPerSecond} cada blueprints.bulk.progress-every blueprints y "
+                       + "al final un ApiResponse con el resultado")
+    public ResponseEntity<StreamingResponseBody> importBlueprints(HttpServletRequest request) {
+        // "consumes" ya descartó cualquier otro Content-Type
+        boolean binary = STREAM.equalsTypeAndSubtype(MediaType.parseMediaType(request.getContentType()));
+        // La respuesta ya empezó cuando se detecta un error: va en la última línea, no en el código HTTP
+        StreamingResponseBody body = out -> {
+            InputStream in = new BufferedInputStream(request.getInputStream());
+            ApiResponse<?> result;
+            try {
+                Iterator<Blueprint> source = binary ? binarySource(in) : ndjsonSource(in);
+                BlueprintsServices.ImportProgress done = services.importBlueprints(source, progressEvery, p -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(p));
+                        out.write('\n');
+                        out.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                result = ApiResponse.successWithoutData(201, done.blueprints() + " blueprints importados");
+            } catch (IllegalArgumentException e) {
+                result = ApiResponse.error(400, e.getMessage());
+            } catch (BlueprintPersistenceException e) {
+                result = ApiResponse.error(409, e.getMessage());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write('\n');
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private Iterator<Blueprint> ndjsonSource(InputStream in) throws IOException {
+        MappingIterator<NewBlueprintRequest> lines = objectMapper.readerFor(NewBlueprintRequest.class).readValues(in);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return lines.hasNextValue();
+                } catch (IOException e) {
+                    throw invalid(e);
+                }
+            }
+
+            @Override
+            public Blueprint next() {
+                try {
+                    NewBlueprintRequest req = lines.nextValue();
+                    return new Blueprint(req.author(), req.name(), req.points() != null ? req.points() : List.of());
+                } catch (IOException e) {
+                    throw invalid(e);
+                }
+            }
+        };
+    }
+
+    private static Iterator<Blueprint> binarySource(InputStream in) throws IOException {
+        BlueprintBinaryCodec.StreamReader reader = new BlueprintBinaryCodec.StreamReader(in);
+        return new Iterator<>() {
+            private Blueprint next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = reader.read();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Blueprint next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Blueprint bp = next;
+                next = null;
+                return bp;
+            }
+        };
+    }
+
+    /**
+     * JSON mal formado es culpa del cliente; un corte de la conexión sigue siendo un error de E/S.
+     */
+    private static RuntimeException invalid(IOException e) {
+        if (e instanceof JsonProcessingException json) {
+            return new IllegalArgumentException("NDJSON inválido: " + json.getOriginalMessage(), e);
+        }
+        return new UncheckedIOException(e);
+    }
+}
@@ -0,0 +1,94 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import edu.eci.arsw.blueprints.dto.ApiResponse;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.services.BlueprintUpdateHub;
+import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Streams SSE con los puntos que se van agregando. Primero llega un evento "snapshot" por
+ * blueprint ({@code author, name, version, points}) y después eventos "points"
+ * ({@code author, name, from, version, points}) con solo los puntos nuevos; {@code version} es
+ * la cantidad de puntos que el cliente tiene tras aplicar el evento.
+ */
+@RestController
+@RequestMapping("/api/v1/subscriptions")
+@Tag(name = "Subscriptions", description = "Puntos nuevos de los blueprints en tiempo real (SSE)")
+public class BlueprintSubscriptionsController {
+
+    private final BlueprintsServices services;
+    private final long timeoutMs;
+
+    public BlueprintSubscriptionsController(BlueprintsServices services,
+                                            @Value("${blueprints.updates.timeout-ms:1800000}") long timeoutMs) {
+        this.services = services;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @GetMapping(value = "/{author}/{bpname}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Seguir un blueprint",
+               description = "Snapshot del blueprint y luego, en lotes, los puntos que se le agreguen")
+    public ResponseEntity<?> blueprint(@PathVariable String author, @PathVariable String bpname) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        try {
+            return ResponseEntity.ok(attach(emitter, services.subscribe(author, bpname, sink(emitter))));
+        } catch (BlueprintNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ApiResponse.error(404, e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/{author}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Seguir los blueprints de un autor",
+               description = "Snapshot de cada blueprint del autor y luego los puntos nuevos, incluidos los de blueprints creados después")
+    public ResponseEntity<?> author(@PathVariable String author) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        try {
+            return ResponseEntity.ok(attach(emitter, services.subscribeAuthor(author, sink(emitter))));
+        } catch (BlueprintNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ApiResponse.error(404, e.getMessage()));
+        }
+    }
+
+    private static SseEmitter attach(SseEmitter emitter, BlueprintUpdateHub.Subscription subscription) {
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+
+    private static BlueprintUpdateHub.EventSink sink(SseEmitter emitter) {
+        return new BlueprintUpdateHub.EventSink() {
+            @Override
+            public void send(String event, String json) throws IOException {
+                emitter.send(SseEmitter.event().name(event).data(json, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void close(Throwable error) {
+                if (error == null) {
+                    emitter.complete();
+                } else {
+                    emitter.completeWithError(error);
+                }
+            }
+        };
+    }
+}
@@ -1,19 +1,36 @@
 package edu.eci.arsw.blueprints.controllers;
 
-import java.util.Set;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.eci.arsw.blueprints.codec.BlueprintBinaryCodec;
 import edu.eci.arsw.blueprints.dto.ApiResponse;
+import edu.eci.arsw.blueprints.dto.BlueprintPage;
+import edu.eci.arsw.blueprints.dto.PageCursor;
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
 import edu.eci.arsw.blueprints.model.Point;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
@@ -33,24 +50,241 @@ import jakarta.validation.constraints.NotNull;
 @Tag(name = "Blueprints", description = "API para gestionar blueprints")
 public class BlueprintsAPIController {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 10_000;
+    private static final MediaType BINARY = MediaType.parseMediaType(BlueprintBinaryCodec.MEDIA_TYPE);
+    // Cursor de la siguiente página en respuestas binarias (vacío si no hay más)
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BlueprintsServices services;
+    private final ObjectMapper objectMapper;
 
-    public BlueprintsAPIController(BlueprintsServices services) {
+    public BlueprintsAPIController(BlueprintsServices services, ObjectMapper objectMapper) {
         this.services = services;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    @Operation(summary = "Obtener todos los blueprints", description = "Retorna una lista de todos los blueprints")
+    @Operation(summary = "Obtener todos los blueprints", 
+               description = "Retorna todos los blueprints. Con 'after' y/o 'limit' retorna una página ordenada por autor y nombre")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(  // Nombre COMPLETO aquí
             responseCode = "200", 
             description = "Lista obtenida exitosamente",
             content = @Content(mediaType = "application/json", 
-            schema = @Schema(implementation = ApiResponse.class)))
+            schema = @Schema(implementation = ApiResponse.class))),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(  // Nombre COMPLETO
+            responseCode = "400", 
+            description = "Cursor, límite o filtro inválido")
+    })
+    public ResponseEntity<?> getAll(
+            @Parameter(description = "Cursor (campo next o encabezado " + NEXT_CURSOR_HEADER + ") de la página anterior")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Tamaño de página (máximo " + MAX_PAGE_SIZE + ")")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Filtros a aplicar en orden, p. ej. redundancy,undersampling (por defecto el del perfil)")
+            @RequestParam(required = false) String filters,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        BlueprintsFilter filter;
+        try {
+            filter = services.resolveFilter(filters);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(400, e.getMessage()));
+        }
+        boolean binary = wantsBinary(accept);
+        if (after == null && limit == null) {
+            String etag = etag(services.getCollectionVersion(), filter.name() + (binary ? "|bin" : ""));
+            if (notModified(ifNoneMatch, etag)) {
+                return notModifiedResponse(etag);
+            }
+            if (binary) {
+                return binaryResponse(etag, services.getAllBlueprints(filter));
+            }
+            List<byte[]> blueprints = services.getAllBlueprintsJson(filter);
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body((StreamingResponseBody) out -> JsonFragments.writeList(out, blueprints));
+        }
+
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(400, "El límite debe estar entre 1 y " + MAX_PAGE_SIZE));
+        }
+        String afterAuthor = null;
+        String afterName = null;
+        if (after != null) {
+            PageCursor cursor;
+            try {
+                cursor = PageCursor.decode(after);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(ApiResponse.error(400, e.getMessage()));
+            }
+            afterAuthor = cursor.author();
+            afterName = cursor.name();
+        }
+        String etag = etag(services.getPageVersion(afterAuthor, afterName, pageSize),
+                filter.name() + "|" + pageSize + (binary ? "|bin" : ""));
+        if (notModified(ifNoneMatch, etag)) {
+            return notModifiedResponse(etag);
+        }
+        if (binary) {
+            List<Blueprint> items = services.getBlueprintsPage(afterAuthor, afterName, pageSize, filter);
+            String next = BlueprintPage.of(items, pageSize).next();
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                    .header(NEXT_CURSOR_HEADER, next == null ? "" : next)
+                    .contentType(BINARY)
+                    .body(BlueprintBinaryCodec.encode(items));
+        }
+        BlueprintsServices.JsonPage page = services.getBlueprintsPageJson(afterAuthor, afterName, pageSize, filter);
+        byte[] next;
+        try {
+            next = page.next() == null ? null : objectMapper.writeValueAsBytes(page.next());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body((StreamingResponseBody) out -> JsonFragments.writePage(out, page.items(), next));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Transmitir todos los blueprints", 
+               description = "Envía cada blueprint filtrado como una línea JSON apenas se lee, sin cargar la colección completa")
+    public ResponseEntity<?> streamAll(
+            @Parameter(description = "Filtros a aplicar en orden, p. ej. redundancy,undersampling (por defecto el del perfil)")
+            @RequestParam(required = false) String filters) {
+        BlueprintsFilter filter;
+        try {
+            filter = services.resolveFilter(filters);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(400, e.getMessage()));
+        }
+        StreamingResponseBody body = out -> {
+            try {
+                services.forEachBlueprint(bp -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(bp));
+                        out.write('\n');
+                        out.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, filter);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar blueprints por región",
+               description = "Retorna, ordenados por autor y nombre, los blueprints cuyo trazo pasa por el rectángulo [minX, maxX] x [minY, maxY]")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(  // Nombre COMPLETO
+            responseCode = "200",
+            description = "Blueprints encontrados (posiblemente ninguno)"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(  // Nombre COMPLETO
+            responseCode = "400",
+            description = "Rectángulo o filtros inválidos")
+    })
+    public ResponseEntity<?> search(
+            @RequestParam int minX,
+            @RequestParam int minY,
+            @RequestParam int maxX,
+            @RequestParam int maxY,
+            @Parameter(description = "Filtros a aplicar en orden, p. ej. redundancy,undersampling (por defecto el del perfil)")
+            @RequestParam(required = false) String filters,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (minX > maxX || minY > maxY) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(400, "El rectángulo requiere minX <= maxX y minY <= maxY"));
+        }
+        BlueprintsFilter filter;
+        try {
+            filter = services.resolveFilter(filters);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(400, e.getMessage()));
+        }
+        BoundingBox box = new BoundingBox(minX, minY, maxX, maxY);
+        if (wantsBinary(accept)) {
+            return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT)
+                    .contentType(BINARY)
+                    .body(BlueprintBinaryCodec.encode(services.searchBlueprints(box, filter)));
+        }
+        List<byte[]> blueprints = services.searchBlueprintsJson(box, filter);
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body((StreamingResponseBody) out -> JsonFragments.writeList(out, blueprints));
+    }
+
+    @GetMapping("/summary")
+    @Operation(summary = "Resumen de todos los blueprints",
+               description = "Cantidad de puntos, caja envolvente, centroide y versión de cada blueprint, sin sus puntos, "
+                       + "paginado como GET /api/v1/blueprints; la primera página trae los totales de la colección")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(  // Nombre COMPLETO
+            responseCode = "200",
+            description = "Página de resúmenes"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(  // Nombre COMPLETO
+            responseCode = "400",
+            description = "Cursor o límite inválido")
+    })
+    public ResponseEntity<?> summary(
+            @Parameter(description = "Cursor (campo next) de la página anterior")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Tamaño de página (máximo " + MAX_PAGE_SIZE + ")")
+            @RequestParam(required = false) Integer limit) {
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(400, "El límite debe estar entre 1 y " + MAX_PAGE_SIZE));
+        }
+        String afterAuthor = null;
+        String afterName = null;
+        if (after != null) {
+            PageCursor cursor;
+            try {
+                cursor = PageCursor.decode(after);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(ApiResponse.error(400, e.getMessage()));
+            }
+            afterAuthor = cursor.author();
+            afterName = cursor.name();
+        }
+        return ResponseEntity.ok(ApiResponse.success(services.getSummaryPage(afterAuthor, afterName, pageSize)));
+    }
+
+    @GetMapping("/{author}/summary")
+    @Operation(summary = "Resumen de los blueprints de un autor",
+               description = "Totales del autor y cantidad de puntos, caja envolvente, centroide y versión de cada blueprint, sin sus puntos")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(  // Nombre COMPLETO
+            responseCode = "200",
+            description = "Resumen del autor"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(  // Nombre COMPLETO
+            responseCode = "404",
+            description = "Autor no encontrado")
     })
-    public ResponseEntity<ApiResponse<Set<Blueprint>>> getAll() {
-        Set<Blueprint> blueprints = services.getAllBlueprints();
-        return ResponseEntity.ok(ApiResponse.success(blueprints));
+    public ResponseEntity<?> authorSummary(
+            @Parameter(description = "Nombre del autor", required = true)
+            @PathVariable String author) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(services.getAuthorSummary(author)));
+        } catch (BlueprintNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(404, e.getMessage()));
+        }
     }
 
     @GetMapping("/{author}")
@@ -64,12 +298,33 @@ public class BlueprintsAPIController {
             responseCode = "404", 
             description = "Autor no encontrado")
     })
-    public ResponseEntity<ApiResponse<?>> getByAuthor(
+    public ResponseEntity<?> getByAuthor(
             @Parameter(description = "Nombre del autor", required = true)
-            @PathVariable String author) {
+            @PathVariable String author,
+            @Parameter(description = "Filtros a aplicar en orden, p. ej. redundancy,undersampling (por defecto el del perfil)")
+            @RequestParam(required = false) String filters,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        BlueprintsFilter filter;
+        try {
+            filter = services.resolveFilter(filters);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(400, e.getMessage()));
+        }
         try {
-            Set<Blueprint> blueprints = services.getBlueprintsByAuthor(author);
-            return ResponseEntity.ok(ApiResponse.success(blueprints));
+            boolean binary = wantsBinary(accept);
+            String etag = etag(services.getAuthorVersion(author), filter.name() + (binary ? "|bin" : ""));
+            if (notModified(ifNoneMatch, etag)) {
+                return notModifiedResponse(etag);
+            }
+            if (binary) {
+                return binaryResponse(etag, services.getBlueprintsByAuthor(author, filter));
+            }
+            List<byte[]> blueprints = services.getBlueprintsByAuthorJson(author, filter);
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body((StreamingResponseBody) out -> JsonFragments.writeList(out, blueprints));
         } catch (BlueprintNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(404, e.getMessage()));
@@ -87,20 +342,94 @@ public class BlueprintsAPIController {
             responseCode = "404", 
             description = "Blueprint no encontrado")
     })
-    public ResponseEntity<ApiResponse<?>> getByAuthorAndName(
+    public ResponseEntity<?> getByAuthorAndName(
             @Parameter(description = "Nombre del autor", required = true)
             @PathVariable String author,
             @Parameter(description = "Nombre del blueprint", required = true)
-            @PathVariable String bpname) {
+            @PathVariable String bpname,
+            @Parameter(description = "Filtros a aplicar en orden, p. ej. redundancy,undersampling (por defecto el del perfil)")
+            @RequestParam(required = false) String filters,
+            @Parameter(description = "Nivel de detalle precalculado (0 = completo; mayor = menos puntos). Reemplaza al filtro del perfil")
+            @RequestParam(required = false) Integer lod,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
-            Blueprint blueprint = services.getBlueprint(author, bpname);
-            return ResponseEntity.ok(ApiResponse.success(blueprint));
+            BlueprintsFilter filter = services.resolveFilter(filters);
+            boolean filtered = lod == null || !(filters == null || filters.isBlank());
+            boolean binary = wantsBinary(accept);
+            String etag = etag(services.getBlueprintVersion(author, bpname),
+                    (filtered ? filter.name() : "") + (lod == null ? "" : "|lod" + lod) + (binary ? "|bin" : ""));
+            if (notModified(ifNoneMatch, etag)) {
+                return notModifiedResponse(etag);
+            }
+            if (lod == null && !binary) {
+                return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(JsonFragments.single(services.getBlueprintJson(author, bpname, filter)));
+            }
+            Blueprint blueprint = lod == null
+                    ? services.getBlueprint(author, bpname, filter)
+                    : services.getBlueprintLod(author, bpname, lod, filtered ? filter : null);
+            if (binary) {
+                return binaryResponse(etag, List.of(blueprint));
+            }
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(ApiResponse.success(blueprint));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(400, e.getMessage()));
         } catch (BlueprintNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(404, e.getMessage()));
         }
     }
 
+    /**
+     * ETag fuerte: versión de los datos más la representación pedida (filtro, nivel, tamaño de página).
+     * Las versiones se leen antes que los datos, así que un ETag nunca describe datos más nuevos que el cuerpo.
+     */
+    private static String etag(long version, String representation) {
+        return "\"" + Long.toHexString(version) + "-" + Integer.toHexString(representation.hashCode()) + "\"";
+    }
+
+    private static ResponseEntity<?> notModifiedResponse(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+    }
+
+    // Binario solo si el cliente lo pide explícitamente: */* y application/json siguen recibiendo JSON
+    static boolean wantsBinary(String accept) {
+        if (accept == null || !accept.contains(BINARY.getSubtype())) return false;
+        try {
+            List<MediaType> types = MediaType.parseMediaTypes(accept);
+            MediaType.sortBySpecificityAndQuality(types);
+            // Gana lo que el cliente prefiere: JSON (o un comodín que lo incluye) antes que el binario lo descarta
+            for (MediaType type : types) {
+                if (type.getQualityValue() <= 0) continue;
+                if (BINARY.equalsTypeAndSubtype(type)) return true;
+                if (type.includes(MediaType.APPLICATION_JSON)) return false;
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return false;
+    }
+
+    private static ResponseEntity<?> binaryResponse(String etag, Collection<Blueprint> blueprints) {
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                .contentType(BINARY)
+                .body(BlueprintBinaryCodec.encode(blueprints));
+    }
+
+    // If-None-Match usa comparación débil: W/"x" equivale a "x"
+    private static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
     @PostMapping
     @Operation(summary = "Crear un nuevo blueprint", 
                description = "Crea un nuevo blueprint con los puntos especificados")
@@ -135,6 +464,48 @@ public class BlueprintsAPIController {
         }
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Crear varios blueprints", 
+               description = "Crea todos los blueprints en una sola transacción; si alguno ya existe no se crea ninguno")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(  // Nombre COMPLETO
+            responseCode = "201", 
+            description = "Blueprints creados exitosamente"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(  // Nombre COMPLETO
+            responseCode = "400", 
+            description = "Datos inválidos"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(  // Nombre COMPLETO
+            responseCode = "409", 
+            description = "Algún blueprint ya existe")
+    })
+    public ResponseEntity<ApiResponse<Void>> addBlueprints(
+            @Parameter(description = "Blueprints a crear", required = true)
+            @RequestBody List<NewBlueprintRequest> reqs) {
+        
+        if (reqs == null || reqs.isEmpty() || reqs.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(400, "El lote debe tener entre 1 y " + MAX_BATCH_SIZE + " blueprints"));
+        }
+        
+        List<Blueprint> bps = new ArrayList<>(reqs.size());
+        for (NewBlueprintRequest req : reqs) {
+            if (req == null || req.points() == null || req.points().isEmpty()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(ApiResponse.error(400, "Cada blueprint debe tener al menos un punto"));
+            }
+            bps.add(new Blueprint(req.author(), req.name(), req.points()));
+        }
+        
+        try {
+            services.addNewBlueprints(bps);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.successWithoutData(201, bps.size() + " blueprints creados exitosamente"));
+        } catch (BlueprintPersistenceException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(409, e.getMessage()));
+        }
+    }
+
     @PutMapping("/{author}/{bpname}/points")
     @Operation(summary = "Agregar punto a blueprint", 
                description = "Agrega un nuevo punto a un blueprint existente")
@@ -172,6 +543,47 @@ public class BlueprintsAPIController {
         }
     }
 
+    @PutMapping("/{author}/{bpname}/points/batch")
+    @Operation(summary = "Agregar varios puntos a blueprint", 
+               description = "Agrega un lote de puntos, en orden, a un blueprint existente en una sola operación")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(  // Nombre COMPLETO
+            responseCode = "202", 
+            description = "Puntos agregados exitosamente"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(  // Nombre COMPLETO
+            responseCode = "400", 
+            description = "Lote inválido"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(  // Nombre COMPLETO
+            responseCode = "404", 
+            description = "Blueprint no encontrado")
+    })
+    public ResponseEntity<ApiResponse<Void>> addPoints(
+            @Parameter(description = "Nombre del autor", required = true)
+            @PathVariable String author,
+            @Parameter(description = "Nombre del blueprint", required = true)
+            @PathVariable String bpname,
+            @Parameter(description = "Puntos a agregar", required = true)
+            @RequestBody List<Point> points) {
+        
+        if (points == null || points.isEmpty() || points.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(400, "El lote debe tener entre 1 y " + MAX_BATCH_SIZE + " puntos"));
+        }
+        if (points.contains(null)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(400, "El punto no puede ser nulo"));
+        }
+        
+        try {
+            services.addPoints(author, bpname, points);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.successWithoutData(202, points.size() + " puntos agregados exitosamente"));
+        } catch (BlueprintNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(404, e.getMessage()));
+        }
+    }
+
     public record NewBlueprintRequest(
             @NotBlank(message = "El autor no puede estar vacío")
             String author,
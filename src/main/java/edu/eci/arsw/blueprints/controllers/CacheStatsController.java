@@ -0,0 +1,53 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import edu.eci.arsw.blueprints.dto.ApiResponse;
+import edu.eci.arsw.blueprints.persistence.CachingBlueprintPersistence;
+import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import edu.eci.arsw.blueprints.services.FilteredBlueprintCache;
+import edu.eci.arsw.blueprints.services.SerializedBlueprintCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/v1/cache")
+@Tag(name = "Cache", description = "Estado del caché de blueprints filtrados")
+public class CacheStatsController {
+
+    private final BlueprintsServices services;
+
+    public CacheStatsController(BlueprintsServices services) {
+        this.services = services;
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Estadísticas del caché", 
+               description = "Aciertos, fallos, desalojos y puntos ocupados por el caché de blueprints filtrados")
+    public ResponseEntity<ApiResponse<FilteredBlueprintCache.CacheStats>> stats() {
+        return ResponseEntity.ok(ApiResponse.success(services.getCacheStats()));
+    }
+
+    @GetMapping("/json-stats")
+    @Operation(summary = "Estadísticas del caché de JSON",
+               description = "Aciertos, fallos, desalojos y bytes ocupados por el JSON ya serializado de los blueprints")
+    public ResponseEntity<ApiResponse<SerializedBlueprintCache.CacheStats>> jsonStats() {
+        return ResponseEntity.ok(ApiResponse.success(services.getJsonCacheStats()));
+    }
+
+    @GetMapping("/persistence-stats")
+    @Operation(summary = "Estadísticas del caché de la persistencia",
+               description = "Aciertos, fallos, cargas compartidas y desalojos del caché de lectura delante de la persistencia")
+    public ResponseEntity<?> persistenceStats() {
+        CachingBlueprintPersistence.CacheStats stats = services.getPersistenceCacheStats();
+        if (stats == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(404, "El caché de la persistencia no está activado (blueprints.persistence.cache.enabled)"));
+        }
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+}
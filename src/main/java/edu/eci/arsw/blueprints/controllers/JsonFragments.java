@@ -0,0 +1,61 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Arma respuestas {@code ApiResponse.success(...)} a partir de blueprints ya serializados,
+ * escribiendo el sobre a mano y copiando los fragmentos tal cual. Produce los mismos bytes
+ * que Jackson con la configuración por defecto de Spring.
+ */
+final class JsonFragments {
+
+    // {"code":200,"message":"execute ok","data": ... }, ver ApiResponse.success
+    private static final byte[] SUCCESS_PREFIX = "{\"code\":200,\"message\":\"execute ok\",\"data\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ITEMS_PREFIX = "{\"items\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NEXT_PREFIX = ",\"next\":".getBytes(StandardCharsets.UTF_8);
+
+    private JsonFragments() {
+    }
+
+    static byte[] single(byte[] data) {
+        byte[] out = new byte[SUCCESS_PREFIX.length + data.length + 1];
+        System.arraycopy(SUCCESS_PREFIX, 0, out, 0, SUCCESS_PREFIX.length);
+        System.arraycopy(data, 0, out, SUCCESS_PREFIX.length, data.length);
+        out[out.length - 1] = '}';
+        return out;
+    }
+
+    static void writeList(OutputStream out, List<byte[]> items) throws IOException {
+        out.write(SUCCESS_PREFIX);
+        array(out, items);
+        out.write('}');
+    }
+
+    /**
+     * Igual que un {@code BlueprintPage}: {@code next} se omite si es null. {@code nextJson} ya
+     * viene serializado como cadena JSON (con comillas y escapes).
+     */
+    static void writePage(OutputStream out, List<byte[]> items, byte[] nextJson) throws IOException {
+        out.write(SUCCESS_PREFIX);
+        out.write(ITEMS_PREFIX);
+        array(out, items);
+        if (nextJson != null) {
+            out.write(NEXT_PREFIX);
+            out.write(nextJson);
+        }
+        out.write('}');
+        out.write('}');
+    }
+
+    private static void array(OutputStream out, List<byte[]> items) throws IOException {
+        out.write('[');
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) out.write(',');
+            out.write(items.get(i));
+        }
+        out.write(']');
+    }
+}
@@ -0,0 +1,23 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import edu.eci.arsw.blueprints.dto.ApiResponse;
+import edu.eci.arsw.blueprints.persistence.PersistenceBusyException;
+
+/**
+ * La saturación de la persistencia puede ocurrir en cualquier endpoint: se responde 503 en todos.
+ */
+@RestControllerAdvice
+public class PersistenceBusyHandler {
+
+    @ExceptionHandler(PersistenceBusyException.class)
+    public ResponseEntity<ApiResponse<Void>> busy(PersistenceBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(ApiResponse.error(503, e.getMessage()));
+    }
+}
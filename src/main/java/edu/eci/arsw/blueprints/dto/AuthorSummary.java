@@ -0,0 +1,15 @@
+package edu.eci.arsw.blueprints.dto;
+
+import java.util.List;
+
+import edu.eci.arsw.blueprints.persistence.BlueprintSummary;
+import edu.eci.arsw.blueprints.persistence.SummaryTotals;
+
+/**
+ * Totales de un autor y el resumen de cada uno de sus blueprints, ordenados por nombre.
+ */
+public record AuthorSummary(
+    String author,
+    SummaryTotals totals,
+    List<BlueprintSummary> items
+) { }
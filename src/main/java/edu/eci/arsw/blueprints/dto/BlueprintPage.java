@@ -0,0 +1,25 @@
+package edu.eci.arsw.blueprints.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+
+/**
+ * Página de blueprints para la paginación por cursor.
+ * {@code next} es el cursor ({@link PageCursor}) de la siguiente página, o null si no hay más.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BlueprintPage(
+    List<Blueprint> items,
+    String next
+) {
+    public static BlueprintPage of(List<Blueprint> items, int limit) {
+        if (items.size() < limit) {
+            return new BlueprintPage(items, null);
+        }
+        Blueprint last = items.get(items.size() - 1);
+        return new BlueprintPage(items, new PageCursor(last.getAuthor(), last.getName()).encode());
+    }
+}
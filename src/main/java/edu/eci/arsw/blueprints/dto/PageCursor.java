@@ -0,0 +1,34 @@
+package edu.eci.arsw.blueprints.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor de la paginación: autor y nombre del último elemento recibido. Viaja como base64 (url,
+ * sin relleno) de "autor\0nombre", así un autor o nombre con ':' u otros caracteres no se confunde
+ * con el separador. Los clientes lo tratan como opaco y lo devuelven tal cual en {@code after}.
+ */
+public record PageCursor(String author, String name) {
+
+    public String encode() {
+        byte[] raw = (author + '\0' + name).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * @throws IllegalArgumentException si {@code cursor} no salió de {@link #encode()}
+     */
+    public static PageCursor decode(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+        int sep = raw.indexOf('\0');
+        if (sep <= 0 || raw.indexOf('\0', sep + 1) >= 0) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+        return new PageCursor(raw.substring(0, sep), raw.substring(sep + 1));
+    }
+}
@@ -0,0 +1,19 @@
+package edu.eci.arsw.blueprints.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import edu.eci.arsw.blueprints.persistence.BlueprintSummary;
+import edu.eci.arsw.blueprints.persistence.SummaryTotals;
+
+/**
+ * Página de resúmenes con el mismo cursor que {@link BlueprintPage}. {@code totals} (de toda la
+ * colección) solo viene en la primera página.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SummaryPage(
+    SummaryTotals totals,
+    List<BlueprintSummary> items,
+    String next
+) { }
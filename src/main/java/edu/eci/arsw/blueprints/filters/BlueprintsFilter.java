@@ -4,4 +4,19 @@ import edu.eci.arsw.blueprints.model.Blueprint;
 
 public interface BlueprintsFilter {
     Blueprint apply(Blueprint bp);
-}
\ No newline at end of file
+
+    /**
+     * Nombre estable del filtro, usado como parte de la llave del caché de resultados.
+     */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * El filtro como pasos que la persistencia puede ejecutar por su cuenta, o null si solo se
+     * puede aplicar en Java.
+     */
+    default FilterDescriptor descriptor() {
+        return null;
+    }
+}
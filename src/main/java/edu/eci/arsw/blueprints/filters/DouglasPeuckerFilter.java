@@ -0,0 +1,91 @@
+package edu.eci.arsw.blueprints.filters;
+
+import java.util.Arrays;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+import edu.eci.arsw.blueprints.model.PointSnapshot;
+
+/**
+ * Simplificación Douglas–Peucker: conserva los extremos y, recursivamente, el punto más alejado
+ * del segmento entre los puntos ya conservados mientras esa distancia supere la tolerancia.
+ * A diferencia del undersampling preserva la forma del trazo.
+ * Disponible por petición como "simplify".
+ */
+public class DouglasPeuckerFilter implements BlueprintsFilter {
+
+    private final double tolerance;
+
+    public DouglasPeuckerFilter(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    public Blueprint apply(Blueprint bp) {
+        PointSnapshot in = bp.snapshot();
+        int n = in.size();
+        if (n <= 2) return bp;
+
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+        // Pila explícita de rangos [from, to] para no depender de la profundidad de recursión
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = n - 1;
+        double tol2 = tolerance * tolerance;
+        int kept = 2;
+        while (top > 0) {
+            int to = stack[--top];
+            int from = stack[--top];
+            int farthest = -1;
+            double maxDist2 = tol2;
+            for (int i = from + 1; i < to; i++) {
+                double d2 = distance2(in.x(i), in.y(i), in.x(from), in.y(from), in.x(to), in.y(to));
+                if (d2 > maxDist2) {
+                    maxDist2 = d2;
+                    farthest = i;
+                }
+            }
+            if (farthest < 0) continue;
+            keep[farthest] = true;
+            kept++;
+            if (top + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length << 1);
+            stack[top++] = from;
+            stack[top++] = farthest;
+            stack[top++] = farthest;
+            stack[top++] = to;
+        }
+
+        int[] out = new int[kept << 1];
+        for (int i = 0, k = 0; i < n; i++) {
+            if (keep[i]) {
+                out[k++] = in.x(i);
+                out[k++] = in.y(i);
+            }
+        }
+        return new Blueprint(bp.getAuthor(), bp.getName(), PointBuffer.wrap(out, kept));
+    }
+
+    @Override
+    public String name() {
+        return "simplify";
+    }
+
+    /**
+     * Distancia al cuadrado de (px, py) al segmento (ax, ay)-(bx, by); en double para no desbordar con coordenadas int.
+     */
+    static double distance2(int px, int py, int ax, int ay, int bx, int by) {
+        double dx = (double) bx - ax;
+        double dy = (double) by - ay;
+        double len2 = dx * dx + dy * dy;
+        double ex = (double) px - ax;
+        double ey = (double) py - ay;
+        if (len2 == 0) return ex * ex + ey * ey;
+        double t = Math.max(0, Math.min(1, (ex * dx + ey * dy) / len2));
+        double fx = ex - t * dx;
+        double fy = ey - t * dy;
+        return fx * fx + fy * fy;
+    }
+}
@@ -0,0 +1,62 @@
+package edu.eci.arsw.blueprints.filters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Descripción declarativa de un filtro, para que la persistencia lo ejecute por su cuenta (p. ej.
+ * dentro de la consulta SQL) y solo transfiera los puntos que sobreviven. Los pasos se aplican en
+ * orden y cada uno da el mismo resultado que el filtro correspondiente; sin pasos es la identidad.
+ */
+public record FilterDescriptor(List<Step> steps) {
+
+    public sealed interface Step permits Dedupe, Undersample, Range { }
+
+    /**
+     * Como {@link RedundancyFilter}: quita los puntos iguales al anterior.
+     */
+    public record Dedupe() implements Step { }
+
+    /**
+     * Como {@link UndersamplingFilter}: conserva los índices pares, o todos si hay 2 puntos o menos.
+     */
+    public record Undersample() implements Step { }
+
+    /**
+     * Como {@link RangeFilter}: los puntos con índice en [from, to).
+     */
+    public record Range(int from, int to) implements Step { }
+
+    public FilterDescriptor {
+        steps = List.copyOf(steps);
+    }
+
+    public static FilterDescriptor of(Step... steps) {
+        return new FilterDescriptor(List.of(steps));
+    }
+
+    public FilterDescriptor then(FilterDescriptor next) {
+        List<Step> all = new ArrayList<>(steps);
+        all.addAll(next.steps());
+        return new FilterDescriptor(all);
+    }
+
+    public boolean isEmpty() {
+        return steps.isEmpty();
+    }
+
+    /**
+     * El mismo filtro aplicado en Java, para los backends que no pueden ejecutar los pasos.
+     */
+    public BlueprintsFilter toFilter() {
+        List<BlueprintsFilter> filters = new ArrayList<>(steps.size());
+        for (Step step : steps) {
+            filters.add(switch (step) {
+                case Dedupe d -> new RedundancyFilter();
+                case Undersample u -> new UndersamplingFilter();
+                case Range r -> new RangeFilter(r.from(), r.to());
+            });
+        }
+        return filters.isEmpty() ? new IdentityFilter() : filters.size() == 1 ? filters.get(0) : new FilterPipeline(filters);
+    }
+}
@@ -0,0 +1,103 @@
+package edu.eci.arsw.blueprints.filters;
+
+import java.util.List;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+import edu.eci.arsw.blueprints.model.PointSnapshot;
+
+/**
+ * Aplica varios filtros en orden. Los filtros consecutivos que implementan {@link StreamingFilter}
+ * se fusionan en una sola pasada sobre los puntos que escribe directamente en el arreglo de salida;
+ * los demás se aplican completos entre medio. Si todos los filtros son {@link StreamingFilter}, la
+ * cadena de etapas también sirve como estado incremental.
+ */
+public final class FilterPipeline implements IncrementalFilter {
+
+    private final List<BlueprintsFilter> filters;
+    private final String name;
+
+    public FilterPipeline(List<BlueprintsFilter> filters) {
+        this.filters = List.copyOf(filters);
+        this.name = String.join(",", this.filters.stream().map(BlueprintsFilter::name).toList());
+    }
+
+    @Override
+    public Blueprint apply(Blueprint bp) {
+        Blueprint current = bp;
+        int i = 0;
+        while (i < filters.size()) {
+            int j = i;
+            while (j < filters.size() && filters.get(j) instanceof StreamingFilter) j++;
+            if (j - i > 1) {
+                current = fused(filters.subList(i, j), current);
+                i = j;
+            } else {
+                current = filters.get(i).apply(current);
+                i++;
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public IncrementalState incremental(String author, String name) {
+        for (BlueprintsFilter f : filters) {
+            if (!(f instanceof StreamingFilter)) return null;
+        }
+        return new IncrementalState(author, name, next -> chain(filters, next));
+    }
+
+    @Override
+    public FilterDescriptor descriptor() {
+        FilterDescriptor all = FilterDescriptor.of();
+        for (BlueprintsFilter f : filters) {
+            FilterDescriptor d = f.descriptor();
+            if (d == null) return null;
+            all = all.then(d);
+        }
+        return all;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    private static PointSink chain(List<BlueprintsFilter> stages, PointSink tail) {
+        PointSink head = tail;
+        for (int k = stages.size() - 1; k >= 0; k--) {
+            head = ((StreamingFilter) stages.get(k)).stage(head);
+        }
+        return head;
+    }
+
+    private static Blueprint fused(List<BlueprintsFilter> stages, Blueprint bp) {
+        PointSnapshot in = bp.snapshot();
+        int n = in.size();
+        // Ninguna etapa agrega puntos: la salida cabe en un arreglo del tamaño de la entrada
+        Collector out = new Collector(n);
+        PointSink head = chain(stages, out);
+        for (int i = 0; i < n; i++) {
+            head.push(in.x(i), in.y(i));
+        }
+        head.end();
+        return new Blueprint(bp.getAuthor(), bp.getName(), PointBuffer.wrap(out.xy, out.count));
+    }
+
+    private static final class Collector implements PointSink {
+        final int[] xy;
+        int count;
+
+        Collector(int capacity) {
+            xy = new int[capacity << 1];
+        }
+
+        @Override
+        public void push(int x, int y) {
+            xy[count << 1] = x;
+            xy[(count << 1) + 1] = y;
+            count++;
+        }
+    }
+}
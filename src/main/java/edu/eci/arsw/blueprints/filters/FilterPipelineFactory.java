@@ -0,0 +1,53 @@
+package edu.eci.arsw.blueprints.filters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Construye el filtro de una petición a partir de una lista de nombres como "redundancy,undersampling".
+ * A diferencia de los beans por perfil, aquí todos los filtros están siempre disponibles.
+ * "range:from-to" conserva los puntos con índice en [from, to) de lo que le llega.
+ */
+@Component
+public class FilterPipelineFactory {
+
+    private static final int MAX_STAGES = 8;
+
+    private final Map<String, BlueprintsFilter> available = Map.of(
+            "identity", new IdentityFilter(),
+            "redundancy", new RedundancyFilter(),
+            "undersampling", new UndersamplingFilter(),
+            "simplify", new DouglasPeuckerFilter(1.0));
+
+    /**
+     * @throws IllegalArgumentException si algún nombre no corresponde a un filtro conocido
+     */
+    public BlueprintsFilter resolve(String spec) {
+        String[] names = spec.split(",");
+        if (names.length > MAX_STAGES) {
+            throw new IllegalArgumentException("Se permiten máximo " + MAX_STAGES + " filtros");
+        }
+        List<BlueprintsFilter> stages = new ArrayList<>(names.length);
+        for (String raw : names) {
+            String name = raw.trim();
+            BlueprintsFilter filter = name.startsWith("range:") ? range(name) : available.get(name);
+            if (filter == null) {
+                throw new IllegalArgumentException("Filtro desconocido: " + name + ". Disponibles: " + available.keySet());
+            }
+            stages.add(filter);
+        }
+        return stages.size() == 1 ? stages.get(0) : new FilterPipeline(stages);
+    }
+
+    private static RangeFilter range(String name) {
+        String[] bounds = name.substring("range:".length()).split("-", 2);
+        try {
+            return new RangeFilter(Integer.parseInt(bounds[0]), Integer.parseInt(bounds[1]));
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Rango de puntos inválido: " + name + ". Formato: range:from-to");
+        }
+    }
+}
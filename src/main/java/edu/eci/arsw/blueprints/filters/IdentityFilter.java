@@ -11,9 +11,32 @@ import edu.eci.arsw.blueprints.model.Blueprint;
  */
 @Component
 @Profile("identity")
-public class IdentityFilter implements BlueprintsFilter {
+public class IdentityFilter implements StreamingFilter {
     @Override
     public Blueprint apply(Blueprint bp) {
         return bp;
     }
+
+    @Override
+    public PointSink stage(PointSink next) {
+        return next;
+    }
+
+    /**
+     * Sin estado: el resultado es el mismo blueprint y no hay nada que mantener.
+     */
+    @Override
+    public IncrementalState incremental(String author, String name) {
+        return null;
+    }
+
+    @Override
+    public FilterDescriptor descriptor() {
+        return FilterDescriptor.of();
+    }
+
+    @Override
+    public String name() {
+        return "identity";
+    }
 }
\ No newline at end of file
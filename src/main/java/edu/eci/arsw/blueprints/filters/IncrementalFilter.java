@@ -0,0 +1,14 @@
+package edu.eci.arsw.blueprints.filters;
+
+/**
+ * Filtro cuyo resultado se puede mantener al agregar puntos: en vez de volver a filtrar el
+ * blueprint completo, se guarda un {@link IncrementalState} y se le pasan solo los puntos nuevos.
+ */
+public interface IncrementalFilter extends BlueprintsFilter {
+
+    /**
+     * Estado vacío del filtro para el blueprint indicado, o null si esta instancia no puede
+     * mantenerse de forma incremental.
+     */
+    IncrementalState incremental(String author, String name);
+}
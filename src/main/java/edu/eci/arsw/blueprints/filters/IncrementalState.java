@@ -0,0 +1,63 @@
+package edu.eci.arsw.blueprints.filters;
+
+import java.util.function.UnaryOperator;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+import edu.eci.arsw.blueprints.model.PointSnapshot;
+
+/**
+ * Resultado de un filtro para un blueprint que se actualiza con cada punto agregado: las etapas
+ * del filtro quedan vivas entre lecturas y lo que entregan se acumula en un buffer de solo
+ * agregado. Pasarle un punto cuesta O(1) y leer el resultado no recorre los puntos.
+ *
+ * No es seguro para varios hilos; quien lo guarda debe serializar {@link #catchUp} y {@link #result}.
+ */
+public final class IncrementalState {
+
+    private final String author;
+    private final String name;
+    private final PointBuffer out = new PointBuffer();
+    private final PointSink head;
+    private int consumed;
+
+    IncrementalState(String author, String name, UnaryOperator<PointSink> stages) {
+        this.author = author;
+        this.name = name;
+        this.head = stages.apply(out::add);
+    }
+
+    /**
+     * Pasa a las etapas los puntos de {@code in} que todavía no recibieron. Como los blueprints
+     * solo agregan puntos, {@code in} debe empezar con los puntos ya recibidos.
+     */
+    public void catchUp(PointSnapshot in) {
+        for (int i = consumed; i < in.size(); i++) {
+            head.push(in.x(i), in.y(i));
+        }
+        consumed = Math.max(consumed, in.size());
+    }
+
+    /**
+     * Cantidad de puntos del blueprint original que ya pasaron por las etapas.
+     */
+    public int consumed() {
+        return consumed;
+    }
+
+    /**
+     * false si alguna etapa retiene puntos hasta el final (ver {@link PointSink#holding()}); en ese
+     * caso {@link #result()} no es todavía el resultado del filtro y hay que aplicarlo completo.
+     */
+    public boolean exact() {
+        return !head.holding();
+    }
+
+    /**
+     * Resultado para los puntos recibidos, sin copiarlos; no cambia aunque el estado siga avanzando.
+     */
+    public Blueprint result() {
+        PointSnapshot s = out.snapshot();
+        return new Blueprint(author, name, PointBuffer.view(s));
+    }
+}
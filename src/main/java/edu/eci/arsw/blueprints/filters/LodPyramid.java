@@ -0,0 +1,121 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+import edu.eci.arsw.blueprints.model.PointSnapshot;
+
+/**
+ * Niveles de detalle precalculados de un blueprint. El nivel k se simplifica con tolerancia
+ * {@code baseTolerance * 2^(k-1)}: ningún punto original queda a más de esa distancia del trazo
+ * del nivel, y los extremos se conservan siempre.
+ *
+ * Cada nivel usa una ventana que se abre desde el último punto conservado: mientras el segmento
+ * hasta el punto nuevo pase a menos de la tolerancia de todos los puntos de la ventana, la
+ * ventana crece; si no, se conserva el punto anterior y la ventana vuelve a empezar desde él.
+ * La ventana tiene a lo sumo {@link #WINDOW} puntos, así que cada punto agregado cuesta
+ * O(niveles * WINDOW) y leer un nivel es copiar los puntos ya decididos. Conserva más puntos que
+ * Douglas–Peucker ({@link DouglasPeuckerFilter}), que necesita el trazo completo y no admite
+ * actualización incremental, pero con el mismo límite de error.
+ *
+ * Los niveles se ponen al día en {@link #catchUp} con los puntos agregados desde la última
+ * lectura, no en cada escritura: el costo es el mismo y no se paga por blueprints que nadie lee.
+ */
+public final class LodPyramid {
+
+    static final int WINDOW = 64;
+
+    private final Level[] levels;
+    private int consumed;
+    private int lastX;
+    private int lastY;
+
+    public LodPyramid(int levelCount, double baseTolerance) {
+        levels = new Level[levelCount];
+        for (int k = 0; k < levelCount; k++) {
+            levels[k] = new Level(baseTolerance * (1L << k));
+        }
+    }
+
+    public int levels() {
+        return levels.length;
+    }
+
+    /**
+     * Procesa los puntos de {@code bp} que aún no se habían visto; como los blueprints solo
+     * crecen al final, el costo es proporcional a los puntos nuevos.
+     */
+    public synchronized void catchUp(Blueprint bp) {
+        PointSnapshot in = bp.snapshot();
+        for (int i = consumed; i < in.size(); i++) {
+            int x = in.x(i);
+            int y = in.y(i);
+            for (Level level : levels) level.push(x, y, i == 0);
+            lastX = x;
+            lastY = y;
+        }
+        consumed = Math.max(consumed, in.size());
+    }
+
+    /**
+     * Blueprint con los puntos del nivel {@code k} (1 = más detalle) más el último punto.
+     */
+    public synchronized Blueprint slice(Blueprint bp, int k) {
+        PointSnapshot kept = levels[k - 1].points.snapshot();
+        int m = kept.size();
+        if (consumed <= 1) {
+            return new Blueprint(bp.getAuthor(), bp.getName(), PointBuffer.wrap(kept.toArray(), m));
+        }
+        int[] out = new int[(m + 1) << 1];
+        kept.copyTo(0, m, out, 0);
+        out[m << 1] = lastX;
+        out[(m << 1) + 1] = lastY;
+        return new Blueprint(bp.getAuthor(), bp.getName(), PointBuffer.wrap(out, m + 1));
+    }
+
+    private static final class Level {
+        final double tol2;
+        final PointBuffer points = new PointBuffer();
+        int keptX;
+        int keptY;
+        /** Puntos posteriores al último conservado; el último de ellos es el extremo provisional. */
+        final int[] window = new int[WINDOW << 1];
+        int windowSize;
+
+        Level(double tolerance) {
+            this.tol2 = tolerance * tolerance;
+        }
+
+        void push(int x, int y, boolean first) {
+            if (first) {
+                points.add(x, y);
+                keptX = x;
+                keptY = y;
+                windowSize = 0;
+                return;
+            }
+            if (windowSize > 0 && (windowSize == WINDOW || !covers(x, y))) {
+                // El extremo provisional cubría la ventana: se conserva y la ventana empieza en él
+                keptX = window[(windowSize - 1) << 1];
+                keptY = window[((windowSize - 1) << 1) + 1];
+                points.add(keptX, keptY);
+                windowSize = 0;
+            }
+            window[windowSize << 1] = x;
+            window[(windowSize << 1) + 1] = y;
+            windowSize++;
+        }
+
+        /**
+         * Si el segmento del último punto conservado a (x, y) pasa a menos de la tolerancia de
+         * todos los puntos de la ventana.
+         */
+        private boolean covers(int x, int y) {
+            for (int i = 0; i < windowSize << 1; i += 2) {
+                if (DouglasPeuckerFilter.distance2(window[i], window[i + 1], keptX, keptY, x, y) > tol2) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package edu.eci.arsw.blueprints.filters;
+
+/**
+ * Destino de los puntos que sobreviven a una etapa de un pipeline de filtros fusionado.
+ */
+public interface PointSink {
+    void push(int x, int y);
+
+    /**
+     * Se llama una vez después del último punto; las etapas que retienen puntos los entregan aquí.
+     */
+    default void end() {
+    }
+
+    /**
+     * true si la etapa (o alguna posterior) retiene puntos que solo entregaría en {@link #end()}:
+     * mientras sea así, lo entregado hasta ahora no es todavía el resultado del filtro.
+     */
+    default boolean holding() {
+        return false;
+    }
+}
@@ -0,0 +1,66 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+import edu.eci.arsw.blueprints.model.PointSnapshot;
+
+/**
+ * Conserva los puntos con índice en [from, to) de lo que recibe; p. ej. para paginar los puntos
+ * de un blueprint muy grande. Disponible por petición como "range:from-to".
+ */
+public class RangeFilter implements StreamingFilter {
+
+    private final int from;
+    private final int to;
+
+    public RangeFilter(int from, int to) {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("Rango de puntos inválido: " + from + "-" + to);
+        }
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public Blueprint apply(Blueprint bp) {
+        PointSnapshot in = bp.snapshot();
+        int start = Math.min(from, in.size());
+        int end = Math.min(to, in.size());
+        int[] out = new int[(end - start) << 1];
+        in.copyTo(start, end - start, out, 0);
+        return new Blueprint(bp.getAuthor(), bp.getName(), PointBuffer.wrap(out, end - start));
+    }
+
+    @Override
+    public PointSink stage(PointSink next) {
+        return new PointSink() {
+            private int index;
+
+            @Override
+            public void push(int x, int y) {
+                if (index >= from && index < to) next.push(x, y);
+                index++;
+            }
+
+            @Override
+            public void end() {
+                next.end();
+            }
+
+            @Override
+            public boolean holding() {
+                return next.holding();
+            }
+        };
+    }
+
+    @Override
+    public FilterDescriptor descriptor() {
+        return FilterDescriptor.of(new FilterDescriptor.Range(from, to));
+    }
+
+    @Override
+    public String name() {
+        return "range:" + from + "-" + to;
+    }
+}
@@ -1,35 +1,82 @@
 package edu.eci.arsw.blueprints.filters;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
-import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+import edu.eci.arsw.blueprints.model.PointSnapshot;
 /**
  * Elimina puntos consecutivos duplicados (x,y) para reducir redundancia.
  * Perfil: "redundancy"
  */
 @Component
 @Profile("redundancy")
-public class RedundancyFilter implements BlueprintsFilter {
+public class RedundancyFilter implements StreamingFilter {
     @Override
     public Blueprint apply(Blueprint bp) {
-        List<Point> in = bp.getPoints();
-        if (in.isEmpty()) return bp;
+        PointSnapshot in = bp.snapshot();
+        int n = in.size();
+        if (n == 0) return bp;
         
-        List<Point> out = new ArrayList<>();
-        Point prev = null;
+        int[] out = new int[n << 1];
+        int px = in.x(0);
+        int py = in.y(0);
+        out[0] = px;
+        out[1] = py;
+        int kept = 1;
         
-        for (Point p : in) {
-            if (prev == null || !(prev.x() == p.x() && prev.y() == p.y())) {
-                out.add(p);
-                prev = p;
+        for (int i = 1; i < n; i++) {
+            int x = in.x(i);
+            int y = in.y(i);
+            if (x != px || y != py) {
+                out[kept << 1] = x;
+                out[(kept << 1) + 1] = y;
+                kept++;
+                px = x;
+                py = y;
             }
         }
         
-        return new Blueprint(bp.getAuthor(), bp.getName(), out);
+        return new Blueprint(bp.getAuthor(), bp.getName(), PointBuffer.wrap(out, kept));
+    }
+
+    @Override
+    public PointSink stage(PointSink next) {
+        return new PointSink() {
+            private boolean first = true;
+            private int px;
+            private int py;
+
+            @Override
+            public void push(int x, int y) {
+                if (first || x != px || y != py) {
+                    first = false;
+                    px = x;
+                    py = y;
+                    next.push(x, y);
+                }
+            }
+
+            @Override
+            public void end() {
+                next.end();
+            }
+
+            @Override
+            public boolean holding() {
+                return next.holding();
+            }
+        };
+    }
+
+    @Override
+    public FilterDescriptor descriptor() {
+        return FilterDescriptor.of(new FilterDescriptor.Dedupe());
+    }
+
+    @Override
+    public String name() {
+        return "redundancy";
     }
-}
\ No newline at end of file
+}
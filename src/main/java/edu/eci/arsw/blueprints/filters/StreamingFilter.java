@@ -0,0 +1,22 @@
+package edu.eci.arsw.blueprints.filters;
+
+/**
+ * Filtro que puede procesar los puntos uno a uno, en orden, sin ver el blueprint completo.
+ * Varias etapas seguidas se encadenan en una sola pasada sobre los puntos (ver {@link FilterPipeline}).
+ */
+public interface StreamingFilter extends IncrementalFilter {
+
+    /**
+     * Crea una etapa con estado propio que recibe los puntos en orden y entrega a {@code next} los que conserva.
+     */
+    PointSink stage(PointSink next);
+
+    /**
+     * La etapa ya guarda todo lo que el filtro necesita recordar (el último punto conservado, la
+     * paridad del índice): basta con mantenerla viva entre lecturas.
+     */
+    @Override
+    default IncrementalState incremental(String author, String name) {
+        return new IncrementalState(author, name, this::stage);
+    }
+}
@@ -1,32 +1,73 @@
 package edu.eci.arsw.blueprints.filters;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
-import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+import edu.eci.arsw.blueprints.model.PointSnapshot;
 /**
  * Undersampling: conserva 1 de cada 2 puntos (índices pares), reduciendo la densidad.
  * Perfil: "undersampling"
  */
 @Component
 @Profile("undersampling")
-public class UndersamplingFilter implements BlueprintsFilter {
+public class UndersamplingFilter implements StreamingFilter {
     @Override
     public Blueprint apply(Blueprint bp) {
-        List<Point> in = bp.getPoints();
-        if (in.size() <= 2) return bp;
+        PointSnapshot in = bp.snapshot();
+        int n = in.size();
+        if (n <= 2) return bp;
         
-        List<Point> out = new ArrayList<>();
-        for (int i = 0; i < in.size(); i++) {
-            if (i % 2 == 0) { // Conserva índices pares
-                out.add(in.get(i));
-            }
+        int kept = (n + 1) / 2;
+        int[] out = new int[kept << 1];
+        for (int i = 0, k = 0; i < n; i += 2) { // Conserva índices pares
+            out[k++] = in.x(i);
+            out[k++] = in.y(i);
         }
         
-        return new Blueprint(bp.getAuthor(), bp.getName(), out);
+        return new Blueprint(bp.getAuthor(), bp.getName(), PointBuffer.wrap(out, kept));
+    }
+
+    @Override
+    public PointSink stage(PointSink next) {
+        return new PointSink() {
+            private int index;
+            private int secondX;
+            private int secondY;
+
+            @Override
+            public void push(int x, int y) {
+                if ((index & 1) == 0) {
+                    next.push(x, y);
+                } else if (index == 1) {
+                    // Con 2 puntos o menos se conservan todos; se decide al final
+                    secondX = x;
+                    secondY = y;
+                }
+                index++;
+            }
+
+            @Override
+            public void end() {
+                if (index == 2) next.push(secondX, secondY);
+                next.end();
+            }
+
+            @Override
+            public boolean holding() {
+                return index == 2 || next.holding();
+            }
+        };
+    }
+
+    @Override
+    public FilterDescriptor descriptor() {
+        return FilterDescriptor.of(new FilterDescriptor.Undersample());
+    }
+
+    @Override
+    public String name() {
+        return "undersampling";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+package edu.eci.arsw.blueprints.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.filters.FilterDescriptor;
+import edu.eci.arsw.blueprints.filters.IncrementalFilter;
+import edu.eci.arsw.blueprints.filters.IncrementalState;
+import edu.eci.arsw.blueprints.model.Blueprint;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Envuelve filtros para medir {@code apply} en el timer "blueprints.filter" con la etiqueta
+ * filter = nombre del filtro o de la cadena. Como las cadenas vienen de ?filters, la cantidad
+ * de etiquetas distintas está acotada: pasado el límite se agrupan en "other". Solo se miden las
+ * aplicaciones completas; el avance de un estado incremental no pasa por el timer.
+ */
+@Component
+public class FilterMetrics {
+
+    private static final int MAX_FILTER_TAGS = 64;
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public FilterMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public BlueprintsFilter timed(BlueprintsFilter filter) {
+        String name = filter.name();
+        Timer timer = timers.get(name);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(timers.size() < MAX_FILTER_TAGS ? name : "other", this::register);
+        }
+        return new TimedFilter(filter, timer);
+    }
+
+    private Timer register(String name) {
+        return Timer.builder("blueprints.filter")
+                .description("Duración de la aplicación de filtros sobre un blueprint")
+                .tag("filter", name)
+                .register(registry);
+    }
+
+    private record TimedFilter(BlueprintsFilter delegate, Timer timer) implements IncrementalFilter {
+        @Override
+        public Blueprint apply(Blueprint bp) {
+            long start = System.nanoTime();
+            try {
+                return delegate.apply(bp);
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public IncrementalState incremental(String author, String name) {
+            return delegate instanceof IncrementalFilter f ? f.incremental(author, name) : null;
+        }
+
+        @Override
+        public FilterDescriptor descriptor() {
+            return delegate.descriptor();
+        }
+
+        @Override
+        public String name() {
+            return delegate.name();
+        }
+    }
+}
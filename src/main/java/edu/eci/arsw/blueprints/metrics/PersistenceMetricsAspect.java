@@ -0,0 +1,62 @@
+package edu.eci.arsw.blueprints.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mide cada método de {@link edu.eci.arsw.blueprints.persistence.BlueprintPersistence} en el
+ * timer "blueprints.persistence", con etiquetas backend (memory, postgres) y method.
+ * Los timers se crean una vez por (backend, método) y se reutilizan. Es el aspecto más externo,
+ * así que el tiempo incluye la espera por el limitador de concurrencia y la transacción.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PersistenceMetricsAspect {
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    public PersistenceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(* edu.eci.arsw.blueprints.persistence.BlueprintPersistence.*(..))")
+    public Object time(ProceedingJoinPoint pjp) throws Throwable {
+        Timer timer = timerFor(AopUtils.getTargetClass(pjp.getTarget()), pjp.getSignature().getName());
+        long start = System.nanoTime();
+        try {
+            return pjp.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timerFor(Class<?> target, String method) {
+        return timers.computeIfAbsent(target, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, m -> Timer.builder("blueprints.persistence")
+                        .description("Duración de las operaciones de persistencia")
+                        .tag("backend", backendOf(target))
+                        .tag("method", m)
+                        .register(registry));
+    }
+
+    // InMemoryBlueprintPersistence -> memory, PostgresBlueprintPersistence -> postgres
+    static String backendOf(Class<?> target) {
+        String name = target.getSimpleName().replace("BlueprintPersistence", "");
+        if (name.startsWith("In")) name = name.substring(2);
+        return name.isEmpty() ? "unknown" : name.toLowerCase();
+    }
+}
@@ -0,0 +1,65 @@
+package edu.eci.arsw.blueprints.metrics;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.StorageStats;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Gauges "blueprints.count" y "blueprints.points". En PostgreSQL contar recorre la tabla, así
+ * que el valor se recalcula como mucho una vez cada blueprints.metrics.storage-refresh-ms y
+ * entre tanto se publica el último leído.
+ */
+@Component
+public class StorageMetrics implements MeterBinder {
+
+    private final BlueprintPersistence persistence;
+    private final long refreshNanos;
+    private volatile StorageStats last = new StorageStats(0, 0);
+    private volatile long refreshedAt;
+    // ReentrantLock y no synchronized: con hilos virtuales no fija el hilo portador durante la consulta
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    public StorageMetrics(BlueprintPersistence persistence,
+                          @Value("${blueprints.metrics.storage-refresh-ms:30000}") long refreshMs) {
+        this.persistence = persistence;
+        this.refreshNanos = refreshMs * 1_000_000;
+        this.refreshedAt = System.nanoTime() - refreshNanos;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("blueprints.count", this, m -> m.current().blueprints())
+                .description("Blueprints guardados")
+                .register(registry);
+        Gauge.builder("blueprints.points", this, m -> m.current().points())
+                .description("Total de puntos guardados")
+                .register(registry);
+    }
+
+    StorageStats current() {
+        if (System.nanoTime() - refreshedAt >= refreshNanos) {
+            refreshLock.lock();
+            try {
+                if (System.nanoTime() - refreshedAt >= refreshNanos) {
+                    try {
+                        last = persistence.storageStats();
+                    } catch (RuntimeException e) {
+                        // Base de datos no disponible: se publica el último valor hasta el próximo intento
+                    }
+                    refreshedAt = System.nanoTime();
+                }
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+        return last;
+    }
+}
@@ -1,7 +1,5 @@
 package edu.eci.arsw.blueprints.model;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 @SuppressWarnings("FieldMayBeFinal")
@@ -9,12 +7,21 @@ import java.util.Objects;
 public class Blueprint {
     private String author;
     private String name;
-    private final List<Point> points = new ArrayList<>();
+    private final PointBuffer points;
 
     public Blueprint(String author, String name, List<Point> pts) {
         this.author = author;
         this.name = name;
-        if (pts != null) points.addAll(pts);
+        this.points = pts != null ? PointBuffer.of(pts) : new PointBuffer();
+    }
+
+    /**
+     * Crea el blueprint sobre un buffer ya construido (sin copiarlo); el buffer pasa a ser del blueprint.
+     */
+    public Blueprint(String author, String name, PointBuffer points) {
+        this.author = author;
+        this.name = name;
+        this.points = points;
     }
 
     public String getAuthor() { 
@@ -26,11 +33,51 @@ public class Blueprint {
     }
 
     public List<Point> getPoints() { 
-        return Collections.unmodifiableList(points); 
+        return points.asList(); 
+    }
+
+    /**
+     * Snapshot consistente de los puntos, segura de recorrer mientras otros hilos agregan puntos.
+     */
+    public PointSnapshot snapshot() {
+        return points.snapshot();
+    }
+
+    /**
+     * Versión monotónica del blueprint, aumenta con cada punto agregado.
+     */
+    public long version() {
+        return points.version();
+    }
+
+    // Acceso primitivo a los puntos, sin crear objetos Point
+
+    public int size() {
+        return points.size();
+    }
+
+    public int x(int i) {
+        return points.x(i);
+    }
+
+    public int y(int i) {
+        return points.y(i);
+    }
+
+    public void copyPoints(int from, int count, int[] dst, int dstPos) {
+        points.copyTo(from, count, dst, dstPos);
     }
 
     public void addPoint(Point p) { 
-        points.add(p); 
+        points.add(p.x(), p.y()); 
+    }
+
+    public void addPoint(int x, int y) {
+        points.add(x, y);
+    }
+
+    public void addPoints(List<Point> pts) {
+        points.addAll(pts);
     }
 
     @Override
@@ -0,0 +1,95 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.util.List;
+
+/**
+ * Rectángulo alineado a los ejes, con bordes incluidos.
+ */
+public record BoundingBox(int minX, int minY, int maxX, int maxY) {
+
+    /**
+     * Caja de los puntos, o null si no hay puntos.
+     */
+    public static BoundingBox of(PointSnapshot pts) {
+        if (pts.size() == 0) return null;
+        int[] xy = pts.data();
+        int minX = xy[0];
+        int minY = xy[1];
+        int maxX = minX;
+        int maxY = minY;
+        for (int i = 2; i < pts.size() << 1; i += 2) {
+            minX = Math.min(minX, xy[i]);
+            maxX = Math.max(maxX, xy[i]);
+            minY = Math.min(minY, xy[i + 1]);
+            maxY = Math.max(maxY, xy[i + 1]);
+        }
+        return new BoundingBox(minX, minY, maxX, maxY);
+    }
+
+    public static BoundingBox of(List<Point> pts) {
+        if (pts.isEmpty()) return null;
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        for (Point p : pts) {
+            minX = Math.min(minX, p.x());
+            maxX = Math.max(maxX, p.x());
+            minY = Math.min(minY, p.y());
+            maxY = Math.max(maxY, p.y());
+        }
+        return new BoundingBox(minX, minY, maxX, maxY);
+    }
+
+    public boolean contains(int x, int y) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    public boolean contains(BoundingBox o) {
+        return o.minX >= minX && o.maxX <= maxX && o.minY >= minY && o.maxY <= maxY;
+    }
+
+    public boolean intersects(BoundingBox o) {
+        return o.minX <= maxX && o.maxX >= minX && o.minY <= maxY && o.maxY >= minY;
+    }
+
+    public BoundingBox union(BoundingBox o) {
+        if (contains(o)) return this;
+        return new BoundingBox(Math.min(minX, o.minX), Math.min(minY, o.minY),
+                Math.max(maxX, o.maxX), Math.max(maxY, o.maxY));
+    }
+
+    /**
+     * Si el trazo (la polilínea que une los puntos en orden) toca el rectángulo: algún punto
+     * cae dentro o algún segmento lo cruza. Más estricto que comparar cajas, que acepta por
+     * ejemplo una L cuya esquina vacía cubre el rectángulo.
+     */
+    public boolean touchedBy(PointSnapshot pts) {
+        int n = pts.size();
+        if (n == 0) return false;
+        int[] xy = pts.data();
+        if (contains(xy[0], xy[1])) return true;
+        for (int i = 2; i < n << 1; i += 2) {
+            if (segmentTouches(xy[i - 2], xy[i - 1], xy[i], xy[i + 1])) return true;
+        }
+        return false;
+    }
+
+    private boolean segmentTouches(int x1, int y1, int x2, int y2) {
+        if (contains(x2, y2)) return true;
+        if (Math.max(x1, x2) < minX || Math.min(x1, x2) > maxX || Math.max(y1, y2) < minY || Math.min(y1, y2) > maxY) {
+            return false;
+        }
+        // Las cajas se cruzan: el segmento toca el rectángulo si sus esquinas no quedan todas del mismo lado de la recta
+        double s1 = side(x1, y1, x2, y2, minX, minY);
+        double s2 = side(x1, y1, x2, y2, maxX, minY);
+        double s3 = side(x1, y1, x2, y2, minX, maxY);
+        double s4 = side(x1, y1, x2, y2, maxX, maxY);
+        return !((s1 > 0 && s2 > 0 && s3 > 0 && s4 > 0) || (s1 < 0 && s2 < 0 && s3 < 0 && s4 < 0));
+    }
+
+    // En double: con coordenadas int extremas el producto cruz no cabe en long
+    private static double side(int x1, int y1, int x2, int y2, int px, int py) {
+        return ((double) x2 - x1) * ((double) py - y1) - ((double) y2 - y1) * ((double) px - x1);
+    }
+}
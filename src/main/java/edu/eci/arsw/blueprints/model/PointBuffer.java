@@ -0,0 +1,161 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Almacenamiento compacto de puntos: un único int[] creciente con x/y intercalados
+ * (x0, y0, x1, y1, ...). Evita un objeto Point por punto y permite recorrer los
+ * puntos sin asignar memoria mediante size(), x(i) e y(i).
+ *
+ * El buffer es de solo agregado: las escrituras se serializan con un candado propio
+ * de cada buffer y publican una nueva {@link PointSnapshot} inmutable; los lectores
+ * toman la última snapshot sin bloquearse y nunca ven un punto a medio escribir.
+ */
+public final class PointBuffer {
+
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final int[] EMPTY = new int[0];
+
+    private final Object writeLock = new Object();
+    private volatile PointSnapshot snapshot;
+    // El arreglo es de otro buffer (ver view): el primer agregado lo copia
+    private boolean shared;
+
+    public PointBuffer() {
+        this.snapshot = new PointSnapshot(EMPTY, 0, 0);
+    }
+
+    public PointBuffer(int capacity) {
+        this.snapshot = new PointSnapshot(capacity > 0 ? new int[capacity << 1] : EMPTY, 0, 0);
+    }
+
+    public static PointBuffer of(List<Point> pts) {
+        int n = pts.size();
+        int[] xy = new int[n << 1];
+        int pos = 0;
+        for (Point p : pts) {
+            xy[pos++] = p.x();
+            xy[pos++] = p.y();
+        }
+        return wrap(xy, n);
+    }
+
+    /**
+     * Crea un buffer a partir de un arreglo intercalado x/y con {@code count} puntos; el arreglo se copia.
+     */
+    public static PointBuffer ofPacked(int[] xy, int count) {
+        Objects.checkFromIndexSize(0, count << 1, xy.length);
+        return wrap(Arrays.copyOf(xy, count << 1), count);
+    }
+
+    /**
+     * Crea un buffer sobre un arreglo intercalado x/y con {@code count} puntos sin copiarlo;
+     * el arreglo pasa a ser del buffer y no debe modificarse después.
+     */
+    public static PointBuffer wrap(int[] xy, int count) {
+        Objects.checkFromIndexSize(0, count << 1, xy.length);
+        PointBuffer buffer = new PointBuffer();
+        buffer.snapshot = new PointSnapshot(xy, count, count);
+        return buffer;
+    }
+
+    /**
+     * Crea un buffer con los puntos de {@code s} sin copiarlos. El arreglo sigue siendo del buffer
+     * original, que puede seguir agregando por encima de {@code s.size()}; el nuevo buffer lo copia
+     * antes de su primer agregado.
+     */
+    public static PointBuffer view(PointSnapshot s) {
+        PointBuffer buffer = new PointBuffer();
+        buffer.snapshot = new PointSnapshot(s.data(), s.size(), s.size());
+        buffer.shared = true;
+        return buffer;
+    }
+
+    /**
+     * Estado actual de los puntos; la snapshot no cambia aunque se sigan agregando puntos.
+     */
+    public PointSnapshot snapshot() {
+        return snapshot;
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    public int x(int i) {
+        return snapshot.x(i);
+    }
+
+    public int y(int i) {
+        return snapshot.y(i);
+    }
+
+    /**
+     * Versión monotónica del buffer: crece en uno con cada punto agregado.
+     */
+    public long version() {
+        return snapshot.version();
+    }
+
+    public void add(int x, int y) {
+        synchronized (writeLock) {
+            PointSnapshot s = snapshot;
+            int[] xy = s.data();
+            int pos = s.size() << 1;
+            if (pos == xy.length || shared) {
+                // Las snapshots anteriores conservan el arreglo viejo, que ya no se modifica
+                int capacity = s.size() + (s.size() >> 1);
+                xy = Arrays.copyOf(xy, Math.max(DEFAULT_CAPACITY, capacity) << 1);
+                shared = false;
+            }
+            // Solo se escribe por encima del tamaño publicado, invisible para los lectores actuales
+            xy[pos] = x;
+            xy[pos + 1] = y;
+            snapshot = new PointSnapshot(xy, s.size() + 1, s.version() + 1);
+        }
+    }
+
+    /**
+     * Agrega varios puntos publicando una sola snapshot: los lectores ven el lote completo o nada de él.
+     */
+    public void addAll(List<Point> pts) {
+        int count = pts.size();
+        if (count == 0) return;
+        synchronized (writeLock) {
+            PointSnapshot s = snapshot;
+            int[] xy = s.data();
+            int needed = s.size() + count;
+            if (needed << 1 > xy.length || shared) {
+                int capacity = s.size() + (s.size() >> 1);
+                xy = Arrays.copyOf(xy, Math.max(Math.max(DEFAULT_CAPACITY, capacity), needed) << 1);
+                shared = false;
+            }
+            int pos = s.size() << 1;
+            for (Point p : pts) {
+                xy[pos++] = p.x();
+                xy[pos++] = p.y();
+            }
+            snapshot = new PointSnapshot(xy, needed, s.version() + count);
+        }
+    }
+
+    /**
+     * Copia los puntos [from, from + count) intercalados en {@code dst} a partir de {@code dstPos}.
+     */
+    public void copyTo(int from, int count, int[] dst, int dstPos) {
+        snapshot.copyTo(from, count, dst, dstPos);
+    }
+
+    public int[] toArray() {
+        return snapshot.toArray();
+    }
+
+    /**
+     * Vista List<Point> perezosa de la snapshot actual para el código que aún trabaja con objetos Point.
+     */
+    public List<Point> asList() {
+        return snapshot.asList();
+    }
+}
@@ -0,0 +1,83 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Vista inmutable de los primeros {@code size} puntos de un {@link PointBuffer}.
+ * Comparte el arreglo del buffer: las posiciones por debajo de {@code size} nunca se reescriben.
+ */
+public final class PointSnapshot {
+
+    private final int[] xy;
+    private final int size;
+    private final long version;
+    private List<Point> view;
+
+    PointSnapshot(int[] xy, int size, long version) {
+        this.xy = xy;
+        this.size = size;
+        this.version = version;
+    }
+
+    int[] data() {
+        return xy;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int x(int i) {
+        Objects.checkIndex(i, size);
+        return xy[i << 1];
+    }
+
+    public int y(int i) {
+        Objects.checkIndex(i, size);
+        return xy[(i << 1) + 1];
+    }
+
+    /**
+     * Copia los puntos [from, from + count) intercalados en {@code dst} a partir de {@code dstPos}.
+     */
+    public void copyTo(int from, int count, int[] dst, int dstPos) {
+        Objects.checkFromIndexSize(from, count, size);
+        System.arraycopy(xy, from << 1, dst, dstPos, count << 1);
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(xy, size << 1);
+    }
+
+    /**
+     * Vista List<Point> perezosa; cada acceso crea el Point correspondiente, no se copian los datos.
+     */
+    public List<Point> asList() {
+        List<Point> v = view;
+        if (v == null) {
+            v = new PointListView();
+            view = v;
+        }
+        return v;
+    }
+
+    private final class PointListView extends AbstractList<Point> implements RandomAccess {
+        @Override
+        public Point get(int index) {
+            return new Point(x(index), y(index));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
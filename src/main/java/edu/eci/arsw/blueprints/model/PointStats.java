@@ -0,0 +1,80 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.util.List;
+
+/**
+ * Cantidad de puntos, caja envolvente y suma de coordenadas (el centroide es suma / cantidad),
+ * acumulados a medida que se agregan puntos. Como los blueprints solo agregan puntos, basta con
+ * sumar cada lote nuevo. No es seguro entre hilos.
+ */
+public final class PointStats {
+
+    private long count;
+    private long sumX;
+    private long sumY;
+    private BoundingBox box;
+
+    public static PointStats of(PointSnapshot pts) {
+        PointStats stats = new PointStats();
+        stats.add(pts);
+        return stats;
+    }
+
+    public static PointStats of(List<Point> pts) {
+        PointStats stats = new PointStats();
+        stats.add(pts);
+        return stats;
+    }
+
+    public void add(int x, int y) {
+        count++;
+        sumX += x;
+        sumY += y;
+        BoundingBox point = new BoundingBox(x, y, x, y);
+        box = box == null ? point : box.union(point);
+    }
+
+    public void add(PointSnapshot pts) {
+        int[] xy = pts.data();
+        for (int i = 0; i < pts.size() << 1; i += 2) {
+            sumX += xy[i];
+            sumY += xy[i + 1];
+        }
+        count += pts.size();
+        extend(BoundingBox.of(pts));
+    }
+
+    public void add(List<Point> pts) {
+        for (Point p : pts) {
+            sumX += p.x();
+            sumY += p.y();
+        }
+        count += pts.size();
+        extend(BoundingBox.of(pts));
+    }
+
+    private void extend(BoundingBox added) {
+        if (added != null) {
+            box = box == null ? added : box.union(added);
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long sumX() {
+        return sumX;
+    }
+
+    public long sumY() {
+        return sumY;
+    }
+
+    /**
+     * Caja de los puntos, o null si no hay puntos.
+     */
+    public BoundingBox box() {
+        return box;
+    }
+}
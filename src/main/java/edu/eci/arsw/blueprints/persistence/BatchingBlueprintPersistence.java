@@ -0,0 +1,271 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import edu.eci.arsw.blueprints.filters.FilterDescriptor;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.Point;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Agrupa las llamadas concurrentes a {@link #getBlueprint} en una sola {@link #getBlueprints}
+ * (al estilo DataLoader). La primera llamada abre un lote y espera {@code window}; las que
+ * llegan mientras tanto se suman a él. El lote se resuelve cuando vence la ventana o cuando
+ * llega a {@code maxSize}, lo que ocurra primero, en el hilo de quien lo cierra: no hay hilos
+ * propios y la consulta ocupa un solo permiso y una sola conexión.
+ *
+ * Métricas: "blueprints.batch.size" (llamadas por lote) y "blueprints.batch.wait" (tiempo de
+ * cada llamada en el lote antes de que empiece la consulta, la latencia que agrega agrupar).
+ *
+ * Como {@link CachingBlueprintPersistence}, {@link #close} le pasa el cierre a la persistencia envuelta.
+ */
+public class BatchingBlueprintPersistence implements BlueprintPersistence, AutoCloseable {
+
+    private record Pending(BlueprintKey key, CompletableFuture<Blueprint> result, long enqueuedAt) { }
+
+    private static final class Batch {
+        final List<Pending> pending = new ArrayList<>();
+        final Thread leader = Thread.currentThread();
+        boolean closed;
+    }
+
+    private final BlueprintPersistence delegate;
+    private final long windowNanos;
+    private final int maxSize;
+    private final DistributionSummary batchSize;
+    private final Timer batchWait;
+
+    private Batch open;
+
+    public BatchingBlueprintPersistence(BlueprintPersistence delegate, long windowMicros, int maxSize, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxSize = maxSize;
+        this.batchSize = DistributionSummary.builder("blueprints.batch.size")
+                .description("Llamadas a getBlueprint resueltas por cada consulta agrupada")
+                .register(registry);
+        this.batchWait = Timer.builder("blueprints.batch.wait")
+                .description("Espera de cada getBlueprint en su lote antes de la consulta")
+                .register(registry);
+    }
+
+    @Override
+    public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
+        Pending mine = new Pending(new BlueprintKey(author, name), new CompletableFuture<>(), System.nanoTime());
+        Batch batch;
+        boolean leader;
+        Batch full = null;
+        synchronized (this) {
+            leader = open == null;
+            if (leader) {
+                open = new Batch();
+            }
+            batch = open;
+            batch.pending.add(mine);
+            if (batch.pending.size() >= maxSize) {
+                full = close(batch);
+            }
+        }
+        if (full != null) {
+            resolve(full);
+            // Si el lote se llenó antes de la ventana, quien lo abrió deja de esperarla
+            LockSupport.unpark(full.leader);
+        } else if (leader) {
+            long deadline = mine.enqueuedAt() + windowNanos;
+            for (long left = windowNanos; left > 0 && !mine.result().isDone(); left = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(left);
+            }
+            Batch due;
+            synchronized (this) {
+                due = batch.closed ? null : close(batch);
+            }
+            if (due != null) resolve(due);
+        }
+        try {
+            return mine.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof BlueprintNotFoundException nf) throw nf;
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    private Batch close(Batch batch) {
+        batch.closed = true;
+        if (open == batch) open = null;
+        return batch;
+    }
+
+    /**
+     * Completa todas las llamadas del lote; si algo falla, incluso con un {@link Error}, las que
+     * queden pendientes terminan con esa falla en vez de esperar para siempre.
+     */
+    private void resolve(Batch batch) {
+        try {
+            long start = System.nanoTime();
+            batchSize.record(batch.pending.size());
+            Set<BlueprintKey> keys = new LinkedHashSet<>();
+            for (Pending p : batch.pending) {
+                keys.add(p.key());
+                batchWait.record(start - p.enqueuedAt(), TimeUnit.NANOSECONDS);
+            }
+            Map<BlueprintKey, Blueprint> found = new HashMap<>();
+            for (Blueprint bp : delegate.getBlueprints(new ArrayList<>(keys))) {
+                found.put(new BlueprintKey(bp.getAuthor(), bp.getName()), bp);
+            }
+            for (Pending p : batch.pending) {
+                Blueprint bp = found.get(p.key());
+                if (bp != null) {
+                    p.result().complete(bp);
+                } else {
+                    p.result().completeExceptionally(new BlueprintNotFoundException(
+                            "Blueprint not found: %s/%s".formatted(p.key().author(), p.key().name())));
+                }
+            }
+        } catch (Throwable e) {
+            for (Pending p : batch.pending) p.result().completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public List<Blueprint> getBlueprints(List<BlueprintKey> keys) {
+        return delegate.getBlueprints(keys);
+    }
+
+    @Override
+    public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
+        delegate.saveBlueprint(bp);
+    }
+
+    @Override
+    public void saveBlueprints(List<Blueprint> bps) throws BlueprintPersistenceException {
+        delegate.saveBlueprints(bps);
+    }
+
+    @Override
+    public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
+        return delegate.getBlueprintsByAuthor(author);
+    }
+
+    @Override
+    public Set<Blueprint> getAllBlueprints() {
+        return delegate.getAllBlueprints();
+    }
+
+    @Override
+    public List<Blueprint> getBlueprintsPage(String afterAuthor, String afterName, int limit) {
+        return delegate.getBlueprintsPage(afterAuthor, afterName, limit);
+    }
+
+    @Override
+    public void forEachBlueprint(Consumer<Blueprint> action) {
+        delegate.forEachBlueprint(action);
+    }
+
+    @Override
+    public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
+        delegate.addPoint(author, name, x, y);
+    }
+
+    @Override
+    public void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException {
+        delegate.addPoints(author, name, points);
+    }
+
+    @Override
+    public List<Point> getPointsSince(String author, String name, int from) throws BlueprintNotFoundException {
+        return delegate.getPointsSince(author, name, from);
+    }
+
+    @Override
+    public long importBlueprints(Iterator<Blueprint> source) throws BlueprintPersistenceException {
+        return delegate.importBlueprints(source);
+    }
+
+    @Override
+    public void exportBlueprints(Consumer<Blueprint> action) {
+        delegate.exportBlueprints(action);
+    }
+
+    @Override
+    public boolean pushesDownFilters() {
+        return delegate.pushesDownFilters();
+    }
+
+    @Override
+    public Blueprint getBlueprint(String author, String name, FilterDescriptor filter) throws BlueprintNotFoundException {
+        return delegate.getBlueprint(author, name, filter);
+    }
+
+    @Override
+    public Set<Blueprint> getBlueprintsByAuthor(String author, FilterDescriptor filter) throws BlueprintNotFoundException {
+        return delegate.getBlueprintsByAuthor(author, filter);
+    }
+
+    @Override
+    public void forEachBlueprint(Consumer<Blueprint> action, FilterDescriptor filter) {
+        delegate.forEachBlueprint(action, filter);
+    }
+
+    @Override
+    public List<Blueprint> getBlueprintsInBox(BoundingBox box) {
+        return delegate.getBlueprintsInBox(box);
+    }
+
+    @Override
+    public long getVersion(String author, String name) throws BlueprintNotFoundException {
+        return delegate.getVersion(author, name);
+    }
+
+    @Override
+    public List<BlueprintVersion> getVersionsByAuthor(String author) throws BlueprintNotFoundException {
+        return delegate.getVersionsByAuthor(author);
+    }
+
+    @Override
+    public List<BlueprintVersion> getVersionsPage(String afterAuthor, String afterName, int limit) {
+        return delegate.getVersionsPage(afterAuthor, afterName, limit);
+    }
+
+    @Override
+    public List<BlueprintSummary> getSummariesByAuthor(String author) throws BlueprintNotFoundException {
+        return delegate.getSummariesByAuthor(author);
+    }
+
+    @Override
+    public List<BlueprintSummary> getSummariesPage(String afterAuthor, String afterName, int limit) {
+        return delegate.getSummariesPage(afterAuthor, afterName, limit);
+    }
+
+    @Override
+    public SummaryTotals getSummaryTotals() {
+        return delegate.getSummaryTotals();
+    }
+
+    @Override
+    public StorageStats storageStats() {
+        return delegate.storageStats();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package edu.eci.arsw.blueprints.persistence;
+
+/**
+ * Llave (autor, nombre) de un blueprint, para pedir varios en una sola consulta.
+ */
+public record BlueprintKey(String author, String name) { }
@@ -0,0 +1,304 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Registro de solo agregado en segmentos mapeados a memoria ({@code log-<n>.bin}).
+ *
+ * <pre>
+ * int  len     bytes del contenido (0 marca el final de lo escrito en el segmento)
+ * int  crc     CRC32C de tipo + contenido
+ * byte tipo
+ * len bytes    contenido
+ * </pre>
+ *
+ * Escribir un registro es copiarlo al mapeo; un hilo aparte hace {@code force()} y así varias
+ * escrituras concurrentes comparten un solo fsync (group commit). Cada registro queda
+ * identificado por su posición (segmento en los 32 bits altos, desplazamiento en los bajos),
+ * que crece con cada escritura y es lo que se espera en {@link #awaitDurable(long)}.
+ *
+ * Si un fsync falla el registro deja de aceptar escrituras: no se sabe qué parte del mapeo llegó
+ * al disco, así que {@link #append} y {@link #roll} fallan desde entonces y quien escribe no
+ * aplica nada más en memoria que el disco no tenga.
+ */
+final class BlueprintLog implements Closeable {
+
+    static final int HEADER = 9;
+
+    @FunctionalInterface
+    interface RecordHandler {
+        void accept(byte type, byte[] payload);
+    }
+
+    /**
+     * Resultado de {@link #replay}: dónde termina lo válido y si se cortó por un registro dañado.
+     */
+    record Replay(int end, int records, boolean corrupt) { }
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final long commitWindowNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pending = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+
+    private long segment;
+    private MappedByteBuffer buffer;
+    private int offset;
+    private long durable;
+    private IOException failure;
+    private boolean closed;
+    private final Thread flusher;
+
+    /**
+     * Abre el segmento {@code segment} para agregar desde {@code offset}. Con {@code clearTail}
+     * se borra lo que haya después (un registro a medio escribir), para que las escrituras
+     * nuevas terminen en un 0 y la lectura sepa dónde parar.
+     */
+    BlueprintLog(Path dir, long segment, int offset, boolean clearTail, int segmentBytes, long commitWindowMs) throws IOException {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.commitWindowNanos = TimeUnit.MILLISECONDS.toNanos(commitWindowMs);
+        this.segment = segment;
+        this.buffer = map(segmentPath(dir, segment), Math.max(segmentBytes, offset));
+        if (clearTail) {
+            byte[] zeros = new byte[1 << 16];
+            for (int i = offset; i < buffer.capacity(); i += zeros.length) {
+                buffer.put(i, zeros, 0, Math.min(zeros.length, buffer.capacity() - i));
+            }
+            buffer.force();
+        }
+        this.offset = offset;
+        this.durable = position();
+        this.flusher = Thread.ofPlatform().name("blueprints-log-flush").daemon().start(this::flushLoop);
+    }
+
+    static Path segmentPath(Path dir, long segment) {
+        return dir.resolve("log-%020d.bin".formatted(segment));
+    }
+
+    /**
+     * Segmentos existentes en {@code dir}, en orden.
+     */
+    static List<Long> segments(Path dir) throws IOException {
+        List<Long> result = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.matches("log-\\d{20}\\.bin"))
+                    .map(n -> Long.parseLong(n.substring(4, 24)))
+                    .sorted()
+                    .forEach(result::add);
+        }
+        return result;
+    }
+
+    /**
+     * Entrega al manejador los registros válidos de un archivo (segmento o snapshot) en orden.
+     */
+    static Replay replay(Path file, RecordHandler handler) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            int off = 0;
+            int records = 0;
+            while (off + HEADER <= buf.capacity()) {
+                int len = buf.getInt(off);
+                if (len == 0) {
+                    break;
+                }
+                if (len < 0 || len > buf.capacity() - off - HEADER) {
+                    return new Replay(off, records, true);
+                }
+                byte type = buf.get(off + 8);
+                byte[] payload = new byte[len];
+                buf.get(off + HEADER, payload);
+                if (buf.getInt(off + 4) != crc(type, payload)) {
+                    return new Replay(off, records, true);
+                }
+                handler.accept(type, payload);
+                records++;
+                off += HEADER + len;
+            }
+            return new Replay(off, records, false);
+        }
+    }
+
+    /**
+     * Copia el registro al segmento actual (pasando al siguiente si no cabe) y retorna su posición final.
+     * No espera a que llegue al disco. Falla si el registro está cerrado o si un fsync anterior falló.
+     */
+    long append(byte type, byte[] payload) throws IOException {
+        lock.lock();
+        try {
+            checkWritableLocked();
+            int size = HEADER + payload.length;
+            // Se deja lugar para el 0 que marca el final
+            if (offset + size + 4 > buffer.capacity()) {
+                rollLocked(size + 4);
+            }
+            buffer.put(offset + HEADER, payload);
+            buffer.put(offset + 8, type);
+            buffer.putInt(offset + 4, crc(type, payload));
+            buffer.putInt(offset, payload.length);
+            offset += size;
+            pending.signal();
+            return position();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Bloquea hasta que todo lo escrito hasta {@code position} esté en disco.
+     */
+    void awaitDurable(long position) {
+        lock.lock();
+        try {
+            while (durable < position) {
+                if (failure != null) throw new UncheckedIOException("No se pudo sincronizar el registro", failure);
+                if (closed) throw new IllegalStateException("El registro se cerró antes de sincronizar");
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cierra el segmento actual (sincronizándolo) y empieza uno nuevo; retorna su número.
+     */
+    long roll() throws IOException {
+        lock.lock();
+        try {
+            checkWritableLocked();
+            rollLocked(0);
+            return segment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Borra los segmentos anteriores a {@code segment}; ya están cubiertos por una snapshot.
+     */
+    static void deleteBefore(Path dir, long segment) throws IOException {
+        for (long s : segments(dir)) {
+            if (s < segment) Files.deleteIfExists(segmentPath(dir, s));
+        }
+    }
+
+    long position() {
+        return (segment << 32) | offset;
+    }
+
+    private void checkWritableLocked() throws IOException {
+        if (failure != null) throw new IOException("El registro no acepta escrituras tras un fsync fallido", failure);
+        if (closed) throw new IOException("El registro está cerrado");
+    }
+
+    private void rollLocked(int minBytes) throws IOException {
+        buffer.force();
+        MappedByteBuffer next = map(segmentPath(dir, segment + 1), Math.max(segmentBytes, minBytes));
+        segment++;
+        buffer = next;
+        offset = 0;
+        durable = position();
+        flushed.signalAll();
+    }
+
+    private void flushLoop() {
+        while (true) {
+            lock.lock();
+            try {
+                while (durable == position() && !closed) {
+                    pending.awaitUninterruptibly();
+                }
+                if (closed && durable == position()) return;
+            } finally {
+                lock.unlock();
+            }
+            // Espera un poco para que los escritores que llegan mientras tanto entren en el mismo fsync
+            if (commitWindowNanos > 0) LockSupport.parkNanos(commitWindowNanos);
+            MappedByteBuffer target;
+            long upTo;
+            lock.lock();
+            try {
+                target = buffer;
+                upTo = position();
+            } finally {
+                lock.unlock();
+            }
+            IOException error = null;
+            try {
+                target.force();
+            } catch (UncheckedIOException e) {
+                error = e.getCause();
+            }
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else if (upTo > durable) {
+                    durable = upTo;
+                }
+                flushed.signalAll();
+                if (error != null) return;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            pending.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            buffer.force();
+            durable = position();
+            flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static MappedByteBuffer map(Path file, int size) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return ch.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, ch.size()));
+        }
+    }
+
+    static int crc(byte type, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
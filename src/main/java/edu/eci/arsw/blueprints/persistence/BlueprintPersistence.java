@@ -1,17 +1,181 @@
 package edu.eci.arsw.blueprints.persistence;
 
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.filters.FilterDescriptor;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.Point;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 public interface BlueprintPersistence {
 
     void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException;
 
+    /**
+     * Guarda varios blueprints como una sola operación: si alguno ya existe no se guarda ninguno.
+     */
+    void saveBlueprints(List<Blueprint> bps) throws BlueprintPersistenceException;
+
     Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException;
 
+    /**
+     * Los blueprints que existen entre las llaves pedidas, en cualquier orden; las que no existen
+     * simplemente no aparecen.
+     */
+    default List<Blueprint> getBlueprints(List<BlueprintKey> keys) {
+        List<Blueprint> found = new ArrayList<>(keys.size());
+        for (BlueprintKey key : keys) {
+            try {
+                found.add(getBlueprint(key.author(), key.name()));
+            } catch (BlueprintNotFoundException e) {
+                // Se omite, igual que una fila ausente en la consulta por lote
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Guarda los blueprints de {@code source} a medida que se leen, sin materializarlos todos, y
+     * retorna cuántos guardó. Por defecto van en lotes de {@link #saveBlueprints}: si uno falla,
+     * los lotes anteriores quedan guardados. Las excepciones no verificadas de {@code source}
+     * (datos inválidos, errores de lectura) se propagan tal cual.
+     */
+    default long importBlueprints(Iterator<Blueprint> source) throws BlueprintPersistenceException {
+        List<Blueprint> batch = new ArrayList<>(1000);
+        long saved = 0;
+        while (source.hasNext()) {
+            batch.add(source.next());
+            if (batch.size() == 1000 || !source.hasNext()) {
+                saveBlueprints(batch);
+                saved += batch.size();
+                batch.clear();
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Entrega todos los blueprints sin filtrar para volcarlos a otro almacén; por defecto es
+     * {@link #forEachBlueprint(Consumer)}.
+     */
+    default void exportBlueprints(Consumer<Blueprint> action) {
+        forEachBlueprint(action);
+    }
+
     Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException;
 
     Set<Blueprint> getAllBlueprints();
 
+    /**
+     * Paginación por llave (keyset): retorna hasta {@code limit} blueprints ordenados por (autor, nombre)
+     * estrictamente posteriores al cursor. Si {@code afterAuthor} es null se empieza desde el inicio.
+     */
+    List<Blueprint> getBlueprintsPage(String afterAuthor, String afterName, int limit);
+
+    /**
+     * Recorre todos los blueprints entregándolos uno a uno al consumidor, sin materializar la colección completa.
+     */
+    void forEachBlueprint(Consumer<Blueprint> action);
+
     void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException;
+
+    /**
+     * Agrega un lote de puntos al final del blueprint en una sola operación.
+     */
+    void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException;
+
+    /**
+     * Puntos del blueprint desde la posición {@code from} hasta el final, en orden; vacío si no
+     * tiene más de {@code from}. Por defecto lee el blueprint completo y corta la cola; las
+     * persistencias que pueden traer solo la cola lo hacen sin transferir el resto.
+     */
+    default List<Point> getPointsSince(String author, String name, int from) throws BlueprintNotFoundException {
+        List<Point> all = getBlueprint(author, name).snapshot().asList();
+        return from >= all.size() ? List.of() : all.subList(from, all.size());
+    }
+
+    /**
+     * Blueprints cuya caja envolvente se cruza con {@code box}. Es un filtro grueso: el llamador
+     * decide si el trazo realmente toca el rectángulo.
+     */
+    List<Blueprint> getBlueprintsInBox(BoundingBox box);
+
+    /**
+     * true si el backend ejecuta los filtros de los métodos que reciben un {@link FilterDescriptor}
+     * por su cuenta y solo transfiere los puntos que sobreviven. Si es false esos métodos leen el
+     * blueprint completo y lo filtran en Java, y conviene más filtrar con caché.
+     */
+    default boolean pushesDownFilters() {
+        return false;
+    }
+
+    default Blueprint getBlueprint(String author, String name, FilterDescriptor filter) throws BlueprintNotFoundException {
+        return filter.toFilter().apply(getBlueprint(author, name));
+    }
+
+    default Set<Blueprint> getBlueprintsByAuthor(String author, FilterDescriptor filter) throws BlueprintNotFoundException {
+        BlueprintsFilter f = filter.toFilter();
+        return getBlueprintsByAuthor(author).stream().map(f::apply).collect(Collectors.toSet());
+    }
+
+    default void forEachBlueprint(Consumer<Blueprint> action, FilterDescriptor filter) {
+        BlueprintsFilter f = filter.toFilter();
+        forEachBlueprint(bp -> action.accept(f.apply(bp)));
+    }
+
+    /**
+     * Versión actual del blueprint, para responder GET condicionales sin leer ni filtrar sus puntos.
+     */
+    default long getVersion(String author, String name) throws BlueprintNotFoundException {
+        return getBlueprint(author, name).version();
+    }
+
+    default List<BlueprintVersion> getVersionsByAuthor(String author) throws BlueprintNotFoundException {
+        return getBlueprintsByAuthor(author).stream()
+                .map(bp -> new BlueprintVersion(bp.getAuthor(), bp.getName(), bp.version()))
+                .toList();
+    }
+
+    /**
+     * Versiones de la misma página que retornaría {@link #getBlueprintsPage}.
+     */
+    default List<BlueprintVersion> getVersionsPage(String afterAuthor, String afterName, int limit) {
+        return getBlueprintsPage(afterAuthor, afterName, limit).stream()
+                .map(bp -> new BlueprintVersion(bp.getAuthor(), bp.getName(), bp.version()))
+                .toList();
+    }
+
+    /**
+     * Resúmenes de los blueprints del autor. Por defecto se calculan desde los puntos; las
+     * persistencias que los mantienen en cada escritura los responden sin leer puntos.
+     */
+    default List<BlueprintSummary> getSummariesByAuthor(String author) throws BlueprintNotFoundException {
+        return getBlueprintsByAuthor(author).stream().map(BlueprintSummary::of).toList();
+    }
+
+    /**
+     * Resúmenes de la misma página que retornaría {@link #getBlueprintsPage}.
+     */
+    default List<BlueprintSummary> getSummariesPage(String afterAuthor, String afterName, int limit) {
+        return getBlueprintsPage(afterAuthor, afterName, limit).stream().map(BlueprintSummary::of).toList();
+    }
+
+    /**
+     * Totales de toda la colección.
+     */
+    default SummaryTotals getSummaryTotals() {
+        SummaryTotals[] totals = {SummaryTotals.EMPTY};
+        forEachBlueprint(bp -> totals[0] = totals[0].plus(SummaryTotals.of(BlueprintSummary.of(bp))));
+        return totals[0];
+    }
+
+    /**
+     * Cantidad de blueprints y de puntos guardados; se consulta al publicar las métricas.
+     */
+    StorageStats storageStats();
 }
@@ -0,0 +1,41 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.PointSnapshot;
+import edu.eci.arsw.blueprints.model.PointStats;
+
+/**
+ * Resumen de un blueprint sin sus puntos: cantidad, caja envolvente, centroide (promedio de los
+ * puntos) y versión. {@code box} y {@code centroid} son null si el blueprint no tiene puntos.
+ */
+public record BlueprintSummary(String author, String name, long points, long version,
+                               BoundingBox box, Centroid centroid) {
+
+    public record Centroid(double x, double y) {
+
+        /**
+         * Promedio de {@code count} puntos cuyas coordenadas suman {@code sumX} y {@code sumY}; null si no hay puntos.
+         */
+        public static Centroid of(long count, double sumX, double sumY) {
+            return count == 0 ? null : new Centroid(sumX / count, sumY / count);
+        }
+    }
+
+    public static BlueprintSummary of(String author, String name, long version, PointStats stats) {
+        return of(author, name, stats.count(), version, stats.box(), stats.sumX(), stats.sumY());
+    }
+
+    public static BlueprintSummary of(String author, String name, long points, long version,
+                                      BoundingBox box, long sumX, long sumY) {
+        return new BlueprintSummary(author, name, points, version, box, Centroid.of(points, sumX, sumY));
+    }
+
+    /**
+     * Resumen calculado recorriendo los puntos, para las persistencias que no lo mantienen.
+     */
+    public static BlueprintSummary of(Blueprint bp) {
+        PointSnapshot pts = bp.snapshot();
+        return of(bp.getAuthor(), bp.getName(), pts.version(), PointStats.of(pts));
+    }
+}
@@ -0,0 +1,6 @@
+package edu.eci.arsw.blueprints.persistence;
+
+/**
+ * Versión de un blueprint sin sus puntos. La versión solo crece: cada punto agregado la aumenta.
+ */
+public record BlueprintVersion(String author, String name, long version) { }
@@ -0,0 +1,366 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+import edu.eci.arsw.blueprints.filters.FilterDescriptor;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.Point;
+
+/**
+ * Caché de lectura delante de otra persistencia (pensado para postgres): guarda los blueprints
+ * de {@link #getBlueprint} y los conjuntos de {@link #getBlueprintsByAuthor}. Es un LRU medido
+ * en puntos, como {@code FilteredBlueprintCache}, y cada entrada vence a los {@code ttl}.
+ *
+ * Las escrituras hechas a través de esta instancia descartan el blueprint y el conjunto de su
+ * autor; las de otras instancias solo se ven al vencer la entrada. Si varios hilos piden la
+ * misma llave ausente, uno solo la carga y los demás esperan ese resultado.
+ *
+ * Una carga que empezó antes de una escritura puede traer datos viejos: cada escritura toma un
+ * número de {@code writes} y lo anota en {@code writtenAt} para el blueprint y su autor, bajo el
+ * mismo candado que guarda las entradas, y una carga solo se guarda si su llave no se escribió
+ * mientras corría. Las escrituras de otras llaves no la afectan. Las anotaciones solo se guardan
+ * mientras haya cargas que empezaron antes.
+ *
+ * Las lecturas con un {@link FilterDescriptor} van directo a la persistencia: su resultado
+ * depende del filtro y no sirve para las demás lecturas.
+ *
+ * Reemplaza al bean que envuelve, así que {@link #close} le pasa el cierre: Spring ya no llama
+ * su {@code @PreDestroy}.
+ */
+public class CachingBlueprintPersistence implements BlueprintPersistence, AutoCloseable {
+
+    public record CacheStats(long hits, long misses, long coalesced, long evictions, int entries,
+                             long points, long maxPoints, long ttlMs) { }
+
+    private record AuthorKey(String author) { }
+
+    private record Entry(Object value, long weight, long loadedAt) { }
+
+    @FunctionalInterface
+    private interface Loader<T> {
+        T load() throws BlueprintNotFoundException;
+    }
+
+    private static final int PRUNE_AT = 1024;
+
+    private final BlueprintPersistence delegate;
+    private final long maxPoints;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    private long points;
+    private long writes;
+    private long clearedAt;
+    /** Última escritura de cada llave, solo si puede ser posterior al inicio de una carga en curso. */
+    private final Map<Object, Long> writtenAt = new HashMap<>();
+    /** Cargas en curso por número de escritura al empezar. */
+    private final TreeMap<Long, Integer> runningSince = new TreeMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingBlueprintPersistence(BlueprintPersistence delegate, long maxPoints, long ttlMs) {
+        this.delegate = delegate;
+        this.maxPoints = maxPoints;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    @Override
+    public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
+        return load(new BlueprintKey(author, name), () -> delegate.getBlueprint(author, name),
+                bp -> Math.max(1, bp.size()));
+    }
+
+    @Override
+    public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
+        return load(new AuthorKey(author), () -> Collections.unmodifiableSet(delegate.getBlueprintsByAuthor(author)),
+                set -> set.stream().mapToLong(bp -> Math.max(1, bp.size())).sum());
+    }
+
+    @Override
+    public long getVersion(String author, String name) throws BlueprintNotFoundException {
+        Blueprint cached = (Blueprint) cached(new BlueprintKey(author, name));
+        return cached != null ? cached.version() : delegate.getVersion(author, name);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<BlueprintVersion> getVersionsByAuthor(String author) throws BlueprintNotFoundException {
+        Set<Blueprint> cached = (Set<Blueprint>) cached(new AuthorKey(author));
+        if (cached == null) {
+            return delegate.getVersionsByAuthor(author);
+        }
+        return cached.stream()
+                .map(bp -> new BlueprintVersion(bp.getAuthor(), bp.getName(), bp.version()))
+                .toList();
+    }
+
+    @Override
+    public List<BlueprintVersion> getVersionsPage(String afterAuthor, String afterName, int limit) {
+        return delegate.getVersionsPage(afterAuthor, afterName, limit);
+    }
+
+    @Override
+    public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
+        try {
+            delegate.saveBlueprint(bp);
+        } finally {
+            invalidate(bp.getAuthor(), bp.getName());
+        }
+    }
+
+    @Override
+    public void saveBlueprints(List<Blueprint> bps) throws BlueprintPersistenceException {
+        try {
+            delegate.saveBlueprints(bps);
+        } finally {
+            for (Blueprint bp : bps) invalidate(bp.getAuthor(), bp.getName());
+        }
+    }
+
+    @Override
+    public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
+        try {
+            delegate.addPoint(author, name, x, y);
+        } finally {
+            invalidate(author, name);
+        }
+    }
+
+    @Override
+    public void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException {
+        try {
+            delegate.addPoints(author, name, points);
+        } finally {
+            invalidate(author, name);
+        }
+    }
+
+    @Override
+    public List<Point> getPointsSince(String author, String name, int from) throws BlueprintNotFoundException {
+        Blueprint cached = (Blueprint) cached(new BlueprintKey(author, name));
+        if (cached == null) {
+            return delegate.getPointsSince(author, name, from);
+        }
+        List<Point> all = cached.snapshot().asList();
+        return from >= all.size() ? List.of() : all.subList(from, all.size());
+    }
+
+    @Override
+    public Set<Blueprint> getAllBlueprints() {
+        return delegate.getAllBlueprints();
+    }
+
+    @Override
+    public List<Blueprint> getBlueprintsPage(String afterAuthor, String afterName, int limit) {
+        return delegate.getBlueprintsPage(afterAuthor, afterName, limit);
+    }
+
+    @Override
+    public void forEachBlueprint(Consumer<Blueprint> action) {
+        delegate.forEachBlueprint(action);
+    }
+
+    @Override
+    public long importBlueprints(Iterator<Blueprint> source) throws BlueprintPersistenceException {
+        try {
+            return delegate.importBlueprints(source);
+        } finally {
+            // No se guardan las llaves importadas (serían millones): se descarta todo el caché
+            synchronized (this) {
+                clearedAt = ++writes;
+                writtenAt.clear();
+                entries.clear();
+                points = 0;
+            }
+            loading.clear();
+        }
+    }
+
+    @Override
+    public void exportBlueprints(Consumer<Blueprint> action) {
+        delegate.exportBlueprints(action);
+    }
+
+    @Override
+    public boolean pushesDownFilters() {
+        return delegate.pushesDownFilters();
+    }
+
+    @Override
+    public Blueprint getBlueprint(String author, String name, FilterDescriptor filter) throws BlueprintNotFoundException {
+        return delegate.getBlueprint(author, name, filter);
+    }
+
+    @Override
+    public Set<Blueprint> getBlueprintsByAuthor(String author, FilterDescriptor filter) throws BlueprintNotFoundException {
+        return delegate.getBlueprintsByAuthor(author, filter);
+    }
+
+    @Override
+    public void forEachBlueprint(Consumer<Blueprint> action, FilterDescriptor filter) {
+        delegate.forEachBlueprint(action, filter);
+    }
+
+    @Override
+    public List<Blueprint> getBlueprintsInBox(BoundingBox box) {
+        return delegate.getBlueprintsInBox(box);
+    }
+
+    @Override
+    public List<BlueprintSummary> getSummariesByAuthor(String author) throws BlueprintNotFoundException {
+        return delegate.getSummariesByAuthor(author);
+    }
+
+    @Override
+    public List<BlueprintSummary> getSummariesPage(String afterAuthor, String afterName, int limit) {
+        return delegate.getSummariesPage(afterAuthor, afterName, limit);
+    }
+
+    @Override
+    public SummaryTotals getSummaryTotals() {
+        return delegate.getSummaryTotals();
+    }
+
+    @Override
+    public StorageStats storageStats() {
+        return delegate.storageStats();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), coalesced.sum(), evictions.sum(), entries.size(),
+                points, maxPoints, TimeUnit.NANOSECONDS.toMillis(ttlNanos));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T load(Object key, Loader<T> loader, ToLongFunction<T> weigher)
+            throws BlueprintNotFoundException {
+        Object cached = cached(key);
+        if (cached != null) {
+            hits.increment();
+            return (T) cached;
+        }
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = loading.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.increment();
+            return (T) await(running);
+        }
+        misses.increment();
+        long startedAt;
+        synchronized (this) {
+            startedAt = writes;
+            runningSince.merge(startedAt, 1, Integer::sum);
+        }
+        try {
+            T value = loader.load();
+            put(key, value, weigher.applyAsLong(value), startedAt);
+            mine.complete(value);
+            return value;
+        } catch (BlueprintNotFoundException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            finished(startedAt);
+            loading.remove(key, mine);
+        }
+    }
+
+    /**
+     * Las escrituras anteriores a la carga más vieja en curso ya no pueden descartar ninguna carga.
+     */
+    private synchronized void finished(long startedAt) {
+        runningSince.merge(startedAt, -1, (a, b) -> a + b == 0 ? null : a + b);
+        if (runningSince.isEmpty()) {
+            writtenAt.clear();
+        } else if (writtenAt.size() > PRUNE_AT) {
+            long oldest = runningSince.firstKey();
+            writtenAt.values().removeIf(w -> w <= oldest);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> running) throws BlueprintNotFoundException {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof BlueprintNotFoundException nf) throw nf;
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private synchronized Object cached(Object key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.loadedAt() > ttlNanos) {
+            entries.remove(key);
+            points -= entry.weight();
+            return null;
+        }
+        return entry.value();
+    }
+
+    private synchronized void put(Object key, Object value, long weight, long startedAt) {
+        Long written = writtenAt.get(key);
+        if (clearedAt > startedAt || (written != null && written > startedAt) || weight > maxPoints) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(value, weight, System.nanoTime()));
+        if (previous != null) points -= previous.weight();
+        points += weight;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (points > maxPoints && eldest.hasNext()) {
+            Entry evicted = eldest.next();
+            eldest.remove();
+            points -= evicted.weight();
+            evictions.increment();
+        }
+    }
+
+    private void invalidate(String author, String name) {
+        synchronized (this) {
+            long write = ++writes;
+            if (!runningSince.isEmpty()) {
+                writtenAt.put(new BlueprintKey(author, name), write);
+                writtenAt.put(new AuthorKey(author), write);
+            }
+            remove(new BlueprintKey(author, name));
+            remove(new AuthorKey(author));
+        }
+        // Quien llegue después de la escritura no debe sumarse a una carga que empezó antes
+        loading.remove(new BlueprintKey(author, name));
+        loading.remove(new AuthorKey(author));
+    }
+
+    private void remove(Object key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) points -= removed.weight();
+    }
+}
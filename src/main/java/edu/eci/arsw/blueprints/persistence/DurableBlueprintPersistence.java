@@ -0,0 +1,316 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import edu.eci.arsw.blueprints.codec.BlueprintBinaryCodec;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+import edu.eci.arsw.blueprints.model.PointSnapshot;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Persistencia en memoria que sobrevive reinicios. El mapa en memoria sigue siendo la fuente
+ * de verdad para las lecturas; cada escritura se agrega además a un {@link BlueprintLog} y
+ * solo retorna cuando el registro está en disco.
+ *
+ * Cada cierto tiempo se escribe una snapshot ({@code snapshot-<n>.bin}) con todos los
+ * blueprints y se borran los segmentos anteriores al {@code n}; al arrancar se carga la
+ * snapshot más reciente y se reproducen solo los segmentos desde {@code n}.
+ *
+ * Las escrituras validan, registran y aplican bajo un mismo candado, así el orden del registro
+ * es el orden en que se aplicaron y reproducirlo deja el mismo estado. El fsync se espera
+ * fuera del candado, de modo que escrituras concurrentes comparten el mismo. Como el registro
+ * se escribe antes de aplicar, tras un fsync fallido {@link BlueprintLog#append} falla y ninguna
+ * escritura posterior llega a la memoria.
+ */
+@Repository
+@Profile("durable")
+public class DurableBlueprintPersistence implements BlueprintPersistence, Closeable {
+
+    static final byte SAVE = 1;
+    static final byte ADD_POINTS = 2;
+
+    // Blueprints por registro de la snapshot
+    private static final int SNAPSHOT_BATCH = 1000;
+
+    private final Path dir;
+    private final InMemoryBlueprintPersistence memory;
+    private final BlueprintLog log;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    @Autowired
+    public DurableBlueprintPersistence(
+            @Value("${blueprints.durable.dir:data/blueprints}") String dir,
+            @Value("${blueprints.durable.segment-bytes:67108864}") int segmentBytes,
+            @Value("${blueprints.durable.commit-window-ms:1}") long commitWindowMs,
+            @Value("${blueprints.memory.grid-cell-size:256}") int gridCellSize) throws IOException {
+        this.dir = Path.of(dir);
+        this.memory = new InMemoryBlueprintPersistence(gridCellSize, false);
+        Files.createDirectories(this.dir);
+        this.log = recover(segmentBytes, commitWindowMs);
+    }
+
+    private BlueprintLog recover(int segmentBytes, long commitWindowMs) throws IOException {
+        long start = 0;
+        List<Long> snapshots = snapshots();
+        if (!snapshots.isEmpty()) {
+            start = snapshots.get(snapshots.size() - 1);
+            if (BlueprintLog.replay(snapshotPath(start), this::apply).corrupt()) {
+                // Se escribe a un temporal y se renombra, así que nunca debería quedar a medias
+                throw new IllegalStateException("Snapshot dañada: " + snapshotPath(start));
+            }
+        }
+        List<Long> segments = new ArrayList<>();
+        for (long s : BlueprintLog.segments(dir)) {
+            if (s >= start) segments.add(s);
+        }
+        long segment = start;
+        BlueprintLog.Replay last = null;
+        for (int i = 0; i < segments.size(); i++) {
+            segment = segments.get(i);
+            last = BlueprintLog.replay(BlueprintLog.segmentPath(dir, segment), this::apply);
+            // Solo el último segmento puede terminar en un registro a medio escribir
+            if (last.corrupt() && i < segments.size() - 1) {
+                throw new IllegalStateException("Registro dañado en " + BlueprintLog.segmentPath(dir, segment));
+            }
+        }
+        BlueprintLog opened = new BlueprintLog(dir, segment, last == null ? 0 : last.end(),
+                last != null && last.corrupt(), segmentBytes, commitWindowMs);
+        // Restos de una snapshot que terminó de escribirse pero no alcanzó a limpiar
+        deleteOlderThan(start);
+        return opened;
+    }
+
+    private void apply(byte type, byte[] payload) {
+        List<Blueprint> bps = BlueprintBinaryCodec.decode(payload);
+        try {
+            if (type == SAVE) {
+                memory.saveBlueprints(bps);
+            } else if (type == ADD_POINTS) {
+                for (Blueprint bp : bps) {
+                    memory.addPoints(bp.getAuthor(), bp.getName(), bp.getPoints());
+                }
+            } else {
+                throw new IllegalStateException("Tipo de registro desconocido: " + type);
+            }
+        } catch (BlueprintPersistenceException | BlueprintNotFoundException e) {
+            // Las escrituras se validan antes de registrarse: reproducirlas no puede fallar
+            throw new IllegalStateException("Registro inconsistente con el estado reconstruido", e);
+        }
+    }
+
+    @Override
+    public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
+        saveBlueprints(List.of(bp));
+    }
+
+    @Override
+    public void saveBlueprints(List<Blueprint> bps) throws BlueprintPersistenceException {
+        byte[] payload = BlueprintBinaryCodec.encode(bps);
+        long position;
+        writeLock.lock();
+        try {
+            Set<String> keys = new HashSet<>();
+            for (Blueprint bp : bps) {
+                if (memory.contains(bp.getAuthor(), bp.getName()) || !keys.add(bp.getAuthor() + ":" + bp.getName())) {
+                    throw new BlueprintPersistenceException("Blueprint already exists: " + bp.getAuthor() + ":" + bp.getName());
+                }
+            }
+            try {
+                position = log.append(SAVE, payload);
+            } catch (IOException e) {
+                throw new BlueprintPersistenceException("Error escribiendo el registro: " + e.getMessage());
+            }
+            memory.saveBlueprints(bps);
+        } finally {
+            writeLock.unlock();
+        }
+        log.awaitDurable(position);
+    }
+
+    @Override
+    public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
+        return memory.getBlueprint(author, name);
+    }
+
+    @Override
+    public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
+        return memory.getBlueprintsByAuthor(author);
+    }
+
+    @Override
+    public Set<Blueprint> getAllBlueprints() {
+        return memory.getAllBlueprints();
+    }
+
+    @Override
+    public List<Blueprint> getBlueprintsPage(String afterAuthor, String afterName, int limit) {
+        return memory.getBlueprintsPage(afterAuthor, afterName, limit);
+    }
+
+    @Override
+    public void forEachBlueprint(Consumer<Blueprint> action) {
+        memory.forEachBlueprint(action);
+    }
+
+    @Override
+    public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
+        addPoints(author, name, List.of(new Point(x, y)));
+    }
+
+    @Override
+    public void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException {
+        byte[] payload = BlueprintBinaryCodec.encode(List.of(new Blueprint(author, name, points)));
+        long position;
+        writeLock.lock();
+        try {
+            memory.getBlueprint(author, name);
+            try {
+                position = log.append(ADD_POINTS, payload);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error escribiendo el registro", e);
+            }
+            memory.addPoints(author, name, points);
+        } finally {
+            writeLock.unlock();
+        }
+        log.awaitDurable(position);
+    }
+
+    @Override
+    public List<Blueprint> getBlueprintsInBox(BoundingBox box) {
+        return memory.getBlueprintsInBox(box);
+    }
+
+    @Override
+    public List<BlueprintSummary> getSummariesByAuthor(String author) throws BlueprintNotFoundException {
+        return memory.getSummariesByAuthor(author);
+    }
+
+    @Override
+    public List<BlueprintSummary> getSummariesPage(String afterAuthor, String afterName, int limit) {
+        return memory.getSummariesPage(afterAuthor, afterName, limit);
+    }
+
+    @Override
+    public SummaryTotals getSummaryTotals() {
+        return memory.getSummaryTotals();
+    }
+
+    @Override
+    public StorageStats storageStats() {
+        return memory.storageStats();
+    }
+
+    /**
+     * Escribe una snapshot y borra lo que ella reemplaza. Bajo el candado de escritura solo se
+     * empieza un segmento nuevo y se toman las snapshots inmutables de los puntos; la
+     * codificación y la escritura al disco ocurren sin bloquear a los escritores.
+     */
+    @Scheduled(fixedDelayString = "${blueprints.durable.snapshot-interval-ms:300000}",
+               initialDelayString = "${blueprints.durable.snapshot-interval-ms:300000}")
+    public void snapshot() throws IOException {
+        if (!snapshotLock.tryLock()) return;
+        try {
+            record Entry(String author, String name, PointSnapshot points) { }
+            List<Entry> entries = new ArrayList<>();
+            long segment;
+            writeLock.lock();
+            try {
+                if ((log.position() & 0xFFFFFFFFL) == 0) {
+                    // Nada nuevo desde la última snapshot (o desde que se abrió un segmento vacío)
+                    return;
+                }
+                segment = log.roll();
+                memory.forEachBlueprint(bp -> entries.add(new Entry(bp.getAuthor(), bp.getName(), bp.snapshot())));
+            } finally {
+                writeLock.unlock();
+            }
+            Path tmp = dir.resolve("snapshot.tmp");
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                List<Blueprint> batch = new ArrayList<>(SNAPSHOT_BATCH);
+                for (Entry e : entries) {
+                    batch.add(new Blueprint(e.author(), e.name(), PointBuffer.wrap(e.points().toArray(), e.points().size())));
+                    if (batch.size() == SNAPSHOT_BATCH) {
+                        writeRecord(ch, SAVE, BlueprintBinaryCodec.encode(batch));
+                        batch.clear();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    writeRecord(ch, SAVE, BlueprintBinaryCodec.encode(batch));
+                }
+                ch.force(true);
+            }
+            Files.move(tmp, snapshotPath(segment), StandardCopyOption.ATOMIC_MOVE);
+            try (FileChannel d = FileChannel.open(dir, StandardOpenOption.READ)) {
+                // Persiste el renombre antes de borrar los segmentos que la snapshot reemplaza
+                d.force(true);
+            }
+            deleteOlderThan(segment);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    @PreDestroy
+    public void close() throws IOException {
+        snapshot();
+        log.close();
+    }
+
+    private static void writeRecord(FileChannel ch, byte type, byte[] payload) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(BlueprintLog.HEADER + payload.length);
+        buf.putInt(payload.length).putInt(BlueprintLog.crc(type, payload)).put(type).put(payload).flip();
+        while (buf.hasRemaining()) {
+            ch.write(buf);
+        }
+    }
+
+    private void deleteOlderThan(long segment) throws IOException {
+        for (long s : snapshots()) {
+            if (s < segment) Files.deleteIfExists(snapshotPath(s));
+        }
+        BlueprintLog.deleteBefore(dir, segment);
+    }
+
+    private Path snapshotPath(long segment) {
+        return dir.resolve("snapshot-%020d.bin".formatted(segment));
+    }
+
+    private List<Long> snapshots() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.matches("snapshot-\\d{20}\\.bin"))
+                    .map(n -> Long.parseLong(n.substring(9, 29)))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
@@ -1,25 +1,62 @@
 package edu.eci.arsw.blueprints.persistence;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
 import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointSnapshot;
+import edu.eci.arsw.blueprints.model.PointStats;
 
 @Repository
 @Profile("memory")
 public class InMemoryBlueprintPersistence implements BlueprintPersistence {
 
     private final Map<String, Blueprint> blueprints = new ConcurrentHashMap<>();
+    // Índice ordenado por (autor, nombre) para la paginación por cursor
+    private final NavigableMap<String, Blueprint> ordered = new ConcurrentSkipListMap<>();
+    // Índice secundario autor -> blueprints, las consultas por autor cuestan O(blueprints del autor)
+    private final Map<String, Set<Blueprint>> byAuthor = new ConcurrentHashMap<>();
+    // Total de puntos mantenido en cada escritura para que las métricas no recorran el mapa
+    private final LongAdder totalPoints = new LongAdder();
+    // Índice espacial sobre las cajas envolventes para las búsquedas por rectángulo
+    private final SpatialGrid grid;
+    // Resumen de cada blueprint (cantidad, caja, sumas) mantenido en cada escritura. Su monitor es el
+    // candado de escritura del blueprint: guardarlo y agregarle puntos actualizan bajo él el blueprint,
+    // su resumen y totalPoints, así un punto agregado a mitad de un guardado no se cuenta dos veces
+    private final Map<String, PointStats> stats = new ConcurrentHashMap<>();
 
     public InMemoryBlueprintPersistence() {
+        this(256);
+    }
+
+    @Autowired
+    public InMemoryBlueprintPersistence(@Value("${blueprints.memory.grid-cell-size:256}") int gridCellSize) {
+        this(gridCellSize, true);
+    }
+
+    /**
+     * Sin datos de ejemplo el almacén arranca vacío; lo usa el perfil durable, que lo llena desde disco.
+     */
+    InMemoryBlueprintPersistence(int gridCellSize, boolean sampleData) {
+        this.grid = new SpatialGrid(gridCellSize);
+        if (!sampleData) return;
         // Sample data 1:1 style (author/name key)
         Blueprint bp1 = new Blueprint("john", "house",
                 List.of(new Point(0,0), new Point(10,0), new Point(10,10), new Point(0,10)));
@@ -27,19 +64,92 @@ public class InMemoryBlueprintPersistence implements BlueprintPersistence {
                 List.of(new Point(5,5), new Point(15,5), new Point(15,15)));
         Blueprint bp3 = new Blueprint("jane", "garden",
                 List.of(new Point(2,2), new Point(3,4), new Point(6,7)));
-        blueprints.put(keyOf(bp1), bp1);
-        blueprints.put(keyOf(bp2), bp2);
-        blueprints.put(keyOf(bp3), bp3);
+        for (Blueprint bp : List.of(bp1, bp2, bp3)) {
+            insert(bp);
+        }
+    }
+
+    /**
+     * Publica {@code bp} si no existe. El resumen se reserva antes que el blueprint y ambos, con el
+     * total de puntos, se escriben bajo el monitor del resumen: un addPoint que ya ve el blueprint
+     * espera en ese monitor a que el guardado termine.
+     */
+    private boolean insert(Blueprint bp) {
+        String k = keyOf(bp);
+        PointSnapshot pts = bp.snapshot();
+        PointStats s = PointStats.of(pts);
+        synchronized (s) {
+            if (stats.putIfAbsent(k, s) != null) {
+                return false;
+            }
+            blueprints.put(k, bp);
+            totalPoints.add(pts.size());
+        }
+        index(bp, pts);
+        return true;
+    }
+
+    private void index(Blueprint bp, PointSnapshot pts) {
+        grid.extend(bp, BoundingBox.of(pts));
+        ordered.put(sortKeyOf(bp.getAuthor(), bp.getName()), bp);
+        byAuthor.computeIfAbsent(bp.getAuthor(), a -> ConcurrentHashMap.newKeySet()).add(bp);
+    }
+
+    private void unindex(Blueprint bp) {
+        PointStats s = stats.get(keyOf(bp));
+        if (s != null) {
+            synchronized (s) {
+                blueprints.remove(keyOf(bp), bp);
+                stats.remove(keyOf(bp), s);
+                totalPoints.add(-bp.size());
+            }
+        }
+        grid.remove(bp);
+        ordered.remove(sortKeyOf(bp.getAuthor(), bp.getName()), bp);
+        Set<Blueprint> set = byAuthor.get(bp.getAuthor());
+        if (set != null) set.remove(bp);
     }
 
     private String keyOf(Blueprint bp) { return bp.getAuthor() + ":" + bp.getName(); }
     private String keyOf(String author, String name) { return author + ":" + name; }
+    // '\0' ordena antes que cualquier otro carácter, así el orden de la llave coincide con el de la tupla (autor, nombre)
+    private String sortKeyOf(String author, String name) { return author + '\0' + name; }
 
     @Override
     public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
-        String k = keyOf(bp);
-        if (blueprints.containsKey(k)) throw new BlueprintPersistenceException("Blueprint already exists: " + k);
-        blueprints.put(k, bp);
+        if (!insert(bp)) throw new BlueprintPersistenceException("Blueprint already exists: " + keyOf(bp));
+    }
+
+    @Override
+    public void saveBlueprints(List<Blueprint> bps) throws BlueprintPersistenceException {
+        List<Blueprint> saved = new ArrayList<>(bps.size());
+        for (Blueprint bp : bps) {
+            if (!insert(bp)) {
+                // Deshace los ya insertados para que el lote sea todo o nada
+                for (Blueprint s : saved) {
+                    unindex(s);
+                }
+                throw new BlueprintPersistenceException("Blueprint already exists: " + keyOf(bp));
+            }
+            saved.add(bp);
+        }
+    }
+
+    /**
+     * Directo al mapa, uno a uno y sin lotes intermedios; se detiene en el primero que ya exista.
+     */
+    @Override
+    public long importBlueprints(Iterator<Blueprint> source) throws BlueprintPersistenceException {
+        long saved = 0;
+        while (source.hasNext()) {
+            saveBlueprint(source.next());
+            saved++;
+        }
+        return saved;
+    }
+
+    boolean contains(String author, String name) {
+        return blueprints.containsKey(keyOf(author, name));
     }
 
     @Override
@@ -51,11 +161,9 @@ public class InMemoryBlueprintPersistence implements BlueprintPersistence {
 
     @Override
     public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
-        Set<Blueprint> set = blueprints.values().stream()
-                .filter(bp -> bp.getAuthor().equals(author))
-                .collect(Collectors.toSet());
-        if (set.isEmpty()) throw new BlueprintNotFoundException("No blueprints for author: " + author);
-        return set;
+        Set<Blueprint> set = byAuthor.get(author);
+        if (set == null || set.isEmpty()) throw new BlueprintNotFoundException("No blueprints for author: " + author);
+        return Collections.unmodifiableSet(set);
     }
 
     @Override
@@ -63,9 +171,111 @@ public class InMemoryBlueprintPersistence implements BlueprintPersistence {
         return new HashSet<>(blueprints.values());
     }
 
+    @Override
+    public List<Blueprint> getBlueprintsPage(String afterAuthor, String afterName, int limit) {
+        NavigableMap<String, Blueprint> tail = afterAuthor == null
+                ? ordered
+                : ordered.tailMap(sortKeyOf(afterAuthor, afterName), false);
+        List<Blueprint> page = new ArrayList<>(Math.min(limit, 64));
+        for (Blueprint bp : tail.values()) {
+            if (page.size() >= limit) break;
+            page.add(bp);
+        }
+        return page;
+    }
+
+    @Override
+    public void forEachBlueprint(Consumer<Blueprint> action) {
+        blueprints.values().forEach(action);
+    }
+
     @Override
     public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
         Blueprint bp = getBlueprint(author, name);
-        bp.addPoint(new Point(x, y));
+        PointStats s = writeLock(bp);
+        synchronized (s) {
+            bp.addPoint(x, y);
+            totalPoints.increment();
+            s.add(x, y);
+        }
+        grid.extend(bp, new BoundingBox(x, y, x, y));
+    }
+
+    @Override
+    public void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException {
+        Blueprint bp = getBlueprint(author, name);
+        PointStats s = writeLock(bp);
+        synchronized (s) {
+            bp.addPoints(points);
+            totalPoints.add(points.size());
+            s.add(points);
+        }
+        grid.extend(bp, BoundingBox.of(points));
+    }
+
+    /**
+     * Resumen de {@code bp}, cuyo monitor ordena las escrituras; el resumen se publica antes que el
+     * blueprint, así que solo falta si un lote lo deshizo entretanto.
+     */
+    private PointStats writeLock(Blueprint bp) throws BlueprintNotFoundException {
+        PointStats s = stats.get(keyOf(bp));
+        if (s == null) {
+            throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(bp.getAuthor(), bp.getName()));
+        }
+        return s;
+    }
+
+    @Override
+    public List<Blueprint> getBlueprintsInBox(BoundingBox box) {
+        return grid.query(box);
+    }
+
+    @Override
+    public List<BlueprintSummary> getSummariesByAuthor(String author) throws BlueprintNotFoundException {
+        List<BlueprintSummary> summaries = new ArrayList<>();
+        for (Blueprint bp : getBlueprintsByAuthor(author)) {
+            BlueprintSummary s = summary(bp.getAuthor(), bp.getName());
+            if (s != null) summaries.add(s);
+        }
+        return summaries;
+    }
+
+    @Override
+    public List<BlueprintSummary> getSummariesPage(String afterAuthor, String afterName, int limit) {
+        List<BlueprintSummary> summaries = new ArrayList<>();
+        for (Blueprint bp : getBlueprintsPage(afterAuthor, afterName, limit)) {
+            BlueprintSummary s = summary(bp.getAuthor(), bp.getName());
+            if (s != null) summaries.add(s);
+        }
+        return summaries;
+    }
+
+    @Override
+    public SummaryTotals getSummaryTotals() {
+        SummaryTotals totals = SummaryTotals.EMPTY;
+        for (PointStats s : stats.values()) {
+            synchronized (s) {
+                totals = totals.plus(new SummaryTotals(1, s.count(), s.box(),
+                        BlueprintSummary.Centroid.of(s.count(), s.sumX(), s.sumY())));
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Resumen sin leer los puntos; null si el blueprint se borró entretanto.
+     */
+    private BlueprintSummary summary(String author, String name) {
+        PointStats s = stats.get(keyOf(author, name));
+        if (s == null) return null;
+        synchronized (s) {
+            // En memoria la versión es la cantidad de puntos; así ambas salen de la misma lectura
+            return BlueprintSummary.of(author, name, s.count(), s);
+        }
+    }
+
+    @Override
+    public StorageStats storageStats() {
+        return new StorageStats(blueprints.size(), totalPoints.sum());
     }
 }
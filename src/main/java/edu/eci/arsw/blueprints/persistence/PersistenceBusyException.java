@@ -0,0 +1,8 @@
+package edu.eci.arsw.blueprints.persistence;
+
+/**
+ * La persistencia no atendió la operación a tiempo porque ya tiene el máximo de operaciones en curso.
+ */
+public class PersistenceBusyException extends RuntimeException {
+    public PersistenceBusyException(String msg) { super(msg); }
+}
@@ -0,0 +1,128 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+
+/**
+ * Índice espacial de cuadrícula uniforme sobre las cajas envolventes de los blueprints.
+ * Cada blueprint se registra en las celdas que cubre su caja; los que cubrirían más de
+ * {@link #MAX_CELLS} celdas van a una lista aparte que se revisa en cada consulta.
+ *
+ * Los blueprints solo agregan puntos, así que una caja nunca se achica: al extenderla basta
+ * con registrar el blueprint en las celdas nuevas. Agregar un punto dentro de la caja actual
+ * no toca el índice.
+ */
+final class SpatialGrid {
+
+    static final int MAX_CELLS = 1024;
+
+    private final int cellSize;
+    private final Map<Long, Set<Blueprint>> cells = new ConcurrentHashMap<>();
+    private final Set<Blueprint> large = ConcurrentHashMap.newKeySet();
+    private final Map<Blueprint, BoundingBox> boxes = new ConcurrentHashMap<>();
+
+    SpatialGrid(int cellSize) {
+        if (cellSize <= 0) throw new IllegalArgumentException("El tamaño de celda debe ser positivo");
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Extiende la caja del blueprint (o la crea) con {@code grow}.
+     */
+    void extend(Blueprint bp, BoundingBox grow) {
+        if (grow == null) return;
+        BoundingBox current = boxes.get(bp);
+        if (current != null && current.contains(grow)) return;
+        boxes.compute(bp, (k, old) -> {
+            BoundingBox next = old == null ? grow : old.union(grow);
+            if (next != old) register(bp, old, next);
+            return next;
+        });
+    }
+
+    void remove(Blueprint bp) {
+        boxes.computeIfPresent(bp, (k, old) -> {
+            if (!large.remove(bp)) {
+                forEachCell(old, key -> {
+                    Set<Blueprint> set = cells.get(key);
+                    if (set != null) set.remove(bp);
+                });
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Blueprints cuya caja se cruza con {@code query}.
+     */
+    List<Blueprint> query(BoundingBox query) {
+        List<Blueprint> result = new ArrayList<>();
+        if (cellCount(query) > boxes.size()) {
+            // Consulta enorme: recorrer las cajas cuesta menos que visitar las celdas
+            boxes.forEach((bp, box) -> {
+                if (box.intersects(query)) result.add(bp);
+            });
+            return result;
+        }
+        Set<Blueprint> seen = new HashSet<>();
+        forEachCell(query, key -> {
+            Set<Blueprint> set = cells.get(key);
+            if (set == null) return;
+            for (Blueprint bp : set) {
+                BoundingBox box = boxes.get(bp);
+                if (box != null && box.intersects(query) && seen.add(bp)) result.add(bp);
+            }
+        });
+        for (Blueprint bp : large) {
+            BoundingBox box = boxes.get(bp);
+            if (box != null && box.intersects(query)) result.add(bp);
+        }
+        return result;
+    }
+
+    private void register(Blueprint bp, BoundingBox old, BoundingBox next) {
+        if (old != null && large.contains(bp)) return;
+        if (cellCount(next) > MAX_CELLS) {
+            if (old != null) {
+                forEachCell(old, key -> {
+                    Set<Blueprint> set = cells.get(key);
+                    if (set != null) set.remove(bp);
+                });
+            }
+            large.add(bp);
+            return;
+        }
+        // La caja nueva contiene a la anterior: solo hace falta agregar, nunca quitar
+        forEachCell(next, key -> cells.computeIfAbsent(key, c -> ConcurrentHashMap.newKeySet()).add(bp));
+    }
+
+    private long cellCount(BoundingBox box) {
+        long w = cell(box.maxX()) - cell(box.minX()) + 1L;
+        long h = cell(box.maxY()) - cell(box.minY()) + 1L;
+        return w * h;
+    }
+
+    private int cell(int coordinate) {
+        return Math.floorDiv(coordinate, cellSize);
+    }
+
+    private void forEachCell(BoundingBox box, LongConsumer action) {
+        int cx0 = cell(box.minX());
+        int cx1 = cell(box.maxX());
+        int cy0 = cell(box.minY());
+        int cy1 = cell(box.maxY());
+        for (int cx = cx0; cx <= cx1; cx++) {
+            for (int cy = cy0; cy <= cy1; cy++) {
+                action.accept(((long) cx << 32) | (cy & 0xFFFFFFFFL));
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package edu.eci.arsw.blueprints.persistence;
+
+/**
+ * Tamaño del almacenamiento: cantidad de blueprints y total de puntos.
+ */
+public record StorageStats(long blueprints, long points) { }
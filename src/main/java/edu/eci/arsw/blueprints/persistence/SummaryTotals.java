@@ -0,0 +1,45 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import java.util.Collection;
+
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.persistence.BlueprintSummary.Centroid;
+
+/**
+ * Totales de varios blueprints: cuántos son, cuántos puntos suman, la caja que los contiene y el
+ * centroide de todos sus puntos. {@code box} y {@code centroid} son null si no hay puntos.
+ */
+public record SummaryTotals(long blueprints, long points, BoundingBox box, Centroid centroid) {
+
+    public static final SummaryTotals EMPTY = new SummaryTotals(0, 0, null, null);
+
+    public static SummaryTotals of(BlueprintSummary s) {
+        return new SummaryTotals(1, s.points(), s.box(), s.centroid());
+    }
+
+    public static SummaryTotals of(Collection<BlueprintSummary> summaries) {
+        SummaryTotals totals = EMPTY;
+        for (BlueprintSummary s : summaries) {
+            totals = totals.plus(of(s));
+        }
+        return totals;
+    }
+
+    /**
+     * Une dos totales; el centroide resultante es el promedio de ambos ponderado por sus puntos.
+     */
+    public SummaryTotals plus(SummaryTotals o) {
+        long n = points + o.points;
+        BoundingBox b = box == null ? o.box : o.box == null ? box : box.union(o.box);
+        return new SummaryTotals(blueprints + o.blueprints, n, b,
+                Centroid.of(n, sumX() + o.sumX(), sumY() + o.sumY()));
+    }
+
+    private double sumX() {
+        return centroid == null ? 0 : centroid.x() * points;
+    }
+
+    private double sumY() {
+        return centroid == null ? 0 : centroid.y() * points;
+    }
+}
@@ -0,0 +1,101 @@
+package edu.eci.arsw.blueprints.persistence.impl;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import edu.eci.arsw.blueprints.model.PointSnapshot;
+
+/**
+ * Formato de texto de COPY de PostgreSQL: una fila por línea, columnas separadas por tabulador,
+ * NULL como {@code \N} y barra invertida, tabulador y saltos de línea escapados con barra invertida.
+ */
+final class CopyText {
+
+    static final String NULL = "\\N";
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private CopyText() {
+    }
+
+    static void appendEscaped(StringBuilder line, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> line.append("\\\\");
+                case '\t' -> line.append("\\t");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                default -> line.append(c);
+            }
+        }
+    }
+
+    /**
+     * Arreglo JSON de puntos [{"x":..,"y":..}, ...]; solo tiene dígitos y signos, no hace falta escaparlo.
+     */
+    static void appendPointsJson(StringBuilder line, PointSnapshot pts) {
+        line.append('[');
+        for (int i = 0; i < pts.size(); i++) {
+            if (i > 0) line.append(',');
+            line.append("{\"x\":").append(pts.x(i)).append(",\"y\":").append(pts.y(i)).append('}');
+        }
+        line.append(']');
+    }
+
+    /**
+     * bytea en formato hex; la barra invertida de "\x" va escapada por el formato de COPY.
+     */
+    static void appendBytea(StringBuilder line, byte[] bytes) {
+        line.append("\\\\x").append(HEX.formatHex(bytes));
+    }
+
+    /**
+     * Columnas de una fila de COPY TO (con o sin el salto de línea final), ya sin escapes; null para NULL.
+     */
+    static List<String> fields(String row) {
+        List<String> fields = new ArrayList<>(4);
+        int end = row.endsWith("\n") ? row.length() - 1 : row.length();
+        StringBuilder field = new StringBuilder();
+        boolean escaped = false;
+        boolean isNull = false;
+        for (int i = 0; i <= end; i++) {
+            if (i == end || (row.charAt(i) == '\t' && !escaped)) {
+                fields.add(isNull ? null : field.toString());
+                field.setLength(0);
+                isNull = false;
+                continue;
+            }
+            char c = row.charAt(i);
+            if (escaped) {
+                escaped = false;
+                switch (c) {
+                    case 'N' -> isNull = true;
+                    case 't' -> field.append('\t');
+                    case 'n' -> field.append('\n');
+                    case 'r' -> field.append('\r');
+                    case 'b' -> field.append('\b');
+                    case 'f' -> field.append('\f');
+                    case 'v' -> field.append('\u000B');
+                    default -> field.append(c);
+                }
+            } else if (c == '\\') {
+                escaped = true;
+            } else {
+                field.append(c);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Bytes de una columna bytea ya sin escapes de COPY ("\x0a0b...").
+     */
+    static byte[] bytea(String field) {
+        if (!field.startsWith("\\x")) {
+            throw new IllegalArgumentException("bytea no está en formato hex");
+        }
+        return HEX.parseHex(field, 2, field.length());
+    }
+}
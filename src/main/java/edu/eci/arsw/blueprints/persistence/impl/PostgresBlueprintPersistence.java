@@ -3,26 +3,68 @@ package edu.eci.arsw.blueprints.persistence.impl;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import edu.eci.arsw.blueprints.codec.PointCodec;
+import edu.eci.arsw.blueprints.filters.FilterDescriptor;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
 import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointSnapshot;
+import edu.eci.arsw.blueprints.model.PointStats;
+import edu.eci.arsw.blueprints.persistence.BlueprintKey;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.BlueprintSummary;
+import edu.eci.arsw.blueprints.persistence.BlueprintVersion;
+import edu.eci.arsw.blueprints.persistence.StorageStats;
+import edu.eci.arsw.blueprints.persistence.SummaryTotals;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyOut;
+
+import jakarta.annotation.PostConstruct;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Implementación de BlueprintPersistence utilizando PostgreSQL.
  * Almacena los blueprints en una tabla con columna JSONB para los puntos.
  * Se activa con el perfil "postgres".
+ *
+ * Con blueprints.postgres.point-log.enabled=true los puntos nuevos no reescriben la columna
+ * JSONB: se insertan en la tabla de solo agregado blueprint_point, las lecturas unen ambos
+ * orígenes y una tarea periódica compacta el registro de vuelta en el arreglo base.
+ *
+ * Con blueprints.postgres.point-format=binary los puntos se guardan en la columna bytea
+ * points_bin codificados con {@link PointCodec}; las filas que aún solo tienen JSONB se leen
+ * igual y una tarea periódica las migra por lotes.
+ *
+ * Con point-format=jsonb y blueprints.postgres.filter-pushdown=true los filtros que se pueden
+ * describir ({@link FilterDescriptor}) se ejecutan dentro de la consulta y solo viajan los puntos
+ * que sobreviven; con point-format=binary no se puede activar.
  */
 @Repository
 @Profile("postgres")
@@ -31,6 +73,44 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
     private final JdbcTemplate jdbcTemplate;
     private ObjectMapper objectMapper;
 
+    /**
+     * Filas que el driver trae por viaje al recorrer la tabla completa. PostgreSQL solo usa
+     * un cursor (en vez de cargar todo el resultado) si la conexión no está en autocommit.
+     */
+    @Value("${blueprints.stream.fetch-size:500}")
+    private int streamFetchSize = 500;
+
+    @Value("${blueprints.postgres.point-log.enabled:false}")
+    private boolean pointLogEnabled;
+
+    /**
+     * Puntos más antiguos del registro que eligen qué blueprints compactar en cada pasada; de cada
+     * blueprint elegido se pliegan todos sus puntos.
+     */
+    @Value("${blueprints.postgres.point-log.compaction-batch:10000}")
+    private int compactionBatch = 10_000;
+
+    /**
+     * Formato de la columna de puntos: "jsonb" (por defecto) o "binary".
+     */
+    @Value("${blueprints.postgres.point-format:jsonb}")
+    private String pointFormat = "jsonb";
+
+    @Value("${blueprints.postgres.migration-batch:1000}")
+    private int migrationBatch = 1000;
+
+    /**
+     * Ejecuta los filtros en la consulta en vez de traer todos los puntos (solo con point-format=jsonb).
+     */
+    @Value("${blueprints.postgres.filter-pushdown:false}")
+    private boolean filterPushdown;
+
+    private volatile boolean migrationDone;
+
+    private volatile boolean boxBackfillDone;
+
+    private volatile boolean summaryBackfillDone;
+
     @Autowired
     public PostgresBlueprintPersistence(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
         this.jdbcTemplate = jdbcTemplate;
@@ -43,30 +123,344 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
     private final RowMapper<Blueprint> blueprintRowMapper = (rs, rowNum) -> {
         String author = rs.getString("author");
         String name = rs.getString("name");
-        String pointsJson = rs.getString("points");
+        if (binaryFormat()) {
+            byte[] pointsBin = rs.getBytes("points_bin");
+            if (pointsBin != null) {
+                return new Blueprint(author, name, PointCodec.decode(pointsBin));
+            }
+        }
         try {
-            List<Point> points = objectMapper.readValue(pointsJson, new TypeReference<List<Point>>() {});
-            return new Blueprint(author, name, points);
+            return new Blueprint(author, name, decodePointsJson(rs.getString("points")));
         } catch (Exception e) {
             throw new RuntimeException("Error deserializando puntos del blueprint: " + author + "/" + name, e);
         }
     };
 
+    private static final TypeReference<List<Point>> POINT_LIST = new TypeReference<>() {};
+
+    /**
+     * Amplía la caja envolvente con cuatro parámetros (minX, minY, maxX, maxY). LEAST y GREATEST
+     * ignoran NULL, así que una fila sin puntos toma la caja nueva y un lote vacío no cambia nada.
+     */
+    private static final String EXTEND_BBOX = "min_x = LEAST(min_x, CAST(? AS integer)), "
+            + "min_y = LEAST(min_y, CAST(? AS integer)), "
+            + "max_x = GREATEST(max_x, CAST(? AS integer)), "
+            + "max_y = GREATEST(max_y, CAST(? AS integer))";
+
+    /**
+     * Argumentos de la sentencia con las cuatro coordenadas de la caja (NULL si no hay puntos)
+     * insertadas en la posición {@code at}.
+     */
+    private static Object[] withBox(BoundingBox box, int at, Object... args) {
+        Object[] all = new Object[args.length + 4];
+        System.arraycopy(args, 0, all, 0, at);
+        if (box != null) {
+            all[at] = box.minX();
+            all[at + 1] = box.minY();
+            all[at + 2] = box.maxX();
+            all[at + 3] = box.maxY();
+        }
+        System.arraycopy(args, at, all, at + 4, args.length - at);
+        return all;
+    }
+
+    /**
+     * Suma al resumen de la fila (point_count, sum_x, sum_y) tres parámetros: cantidad y sumas de los
+     * puntos agregados. En filas binarias aún sin resumen (NULL) no cambia nada: lo completa
+     * {@link #backfillBinarySummaries}.
+     */
+    private static final String EXTEND_SUMMARY = "point_count = point_count + ?, sum_x = sum_x + ?, sum_y = sum_y + ?";
+
+    private static String insertSql(boolean binary) {
+        return binary
+                ? "INSERT INTO blueprint (author, name, points_bin, min_x, min_y, max_x, max_y, point_count, sum_x, sum_y)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+                : "INSERT INTO blueprint (author, name, points, min_x, min_y, max_x, max_y, point_count, sum_x, sum_y)"
+                        + " VALUES (?, ?, ?::jsonb, ?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    /**
+     * Decodifica la columna JSONB de puntos. Paquete-privado para los benchmarks.
+     */
+    List<Point> decodePointsJson(String pointsJson) throws IOException {
+        return objectMapper.readValue(pointsJson, POINT_LIST);
+    }
+
+    @PostConstruct
+    void checkConfiguration() {
+        if (!"jsonb".equals(pointFormat) && !"binary".equals(pointFormat)) {
+            throw new IllegalStateException("blueprints.postgres.point-format debe ser jsonb o binary: " + pointFormat);
+        }
+        if (pointLogEnabled && binaryFormat()) {
+            // La compactación del registro concatena JSONB dentro de PostgreSQL
+            throw new IllegalStateException("El registro de puntos solo está disponible con point-format=jsonb");
+        }
+        if (filterPushdown && binaryFormat()) {
+            // Los pasos recorren el arreglo JSONB; points_bin solo se puede decodificar en Java
+            throw new IllegalStateException("blueprints.postgres.filter-pushdown solo está disponible con point-format=jsonb");
+        }
+    }
+
+    private boolean binaryFormat() {
+        return "binary".equals(pointFormat);
+    }
+
+    /**
+     * SELECT de blueprints sobre la tabla con alias b; en modo registro agrega al arreglo base
+     * los puntos aún no compactados, en orden de inserción.
+     */
+    private String select(String rest) {
+        if (binaryFormat()) {
+            return "SELECT b.author, b.name, b.points, b.points_bin FROM blueprint b " + rest;
+        }
+        return "SELECT b.author, b.name, " + pointsJsonExpr() + " AS points FROM blueprint b " + rest;
+    }
+
+    /**
+     * Arreglo JSONB completo de puntos de la fila b.
+     */
+    private String pointsJsonExpr() {
+        return pointLogEnabled
+                ? "b.points || COALESCE((SELECT jsonb_agg(jsonb_build_object('x', p.x, 'y', p.y) ORDER BY p.seq)"
+                        + " FROM blueprint_point p WHERE p.author = b.author AND p.name = b.name), '[]'::jsonb)"
+                : "b.points";
+    }
+
+    /**
+     * Como {@link #select}, pero el arreglo de puntos de cada fila pasa antes por {@code filter}.
+     * Los puntos se expanden con su posición (WITH ORDINALITY) y cada paso es una subconsulta
+     * sobre el anterior que numera lo que le llega con row_number(), igual que el filtro en Java;
+     * al final jsonb_agg arma el arreglo solo con los que sobreviven. El filtro va en un LATERAL
+     * por fila, así que un recorrido completo se sigue entregando fila a fila. Los parámetros de
+     * los pasos se agregan a {@code args} y van antes de los de {@code rest}.
+     */
+    private String filteredSelect(FilterDescriptor filter, String rest, List<Object> args) {
+        String points = "(SELECT e.ord, (e.p->>'x')::int AS x, (e.p->>'y')::int AS y"
+                + " FROM jsonb_array_elements(" + pointsJsonExpr() + ") WITH ORDINALITY AS e(p, ord))";
+        int k = 0;
+        for (FilterDescriptor.Step step : filter.steps()) {
+            String columns;
+            String keep;
+            switch (step) {
+                case FilterDescriptor.Dedupe d -> {
+                    columns = "lag(x) OVER (ORDER BY ord) AS px, lag(y) OVER (ORDER BY ord) AS py";
+                    keep = "px IS NULL OR x <> px OR y <> py";
+                }
+                case FilterDescriptor.Undersample u -> {
+                    columns = "row_number() OVER (ORDER BY ord) AS i, count(*) OVER () AS n";
+                    keep = "n <= 2 OR i % 2 = 1";
+                }
+                case FilterDescriptor.Range r -> {
+                    columns = "row_number() OVER (ORDER BY ord) AS i";
+                    keep = "i > ? AND i <= ?";
+                    args.add(r.from());
+                    args.add(r.to());
+                }
+            }
+            k++;
+            points = "(SELECT ord, x, y FROM (SELECT ord, x, y, " + columns + " FROM " + points + " s" + k + ") t" + k
+                    + " WHERE " + keep + ")";
+        }
+        return "SELECT b.author, b.name, COALESCE(f.points, '[]'::jsonb) AS points FROM blueprint b"
+                + " CROSS JOIN LATERAL (SELECT jsonb_agg(jsonb_build_object('x', x, 'y', y) ORDER BY ord) AS points"
+                + " FROM " + points + " s) f " + rest;
+    }
+
+    @Override
+    public boolean pushesDownFilters() {
+        return filterPushdown;
+    }
+
+    @Override
+    public Blueprint getBlueprint(String author, String name, FilterDescriptor filter) throws BlueprintNotFoundException {
+        if (!pushesDownFilters()) {
+            return BlueprintPersistence.super.getBlueprint(author, name, filter);
+        }
+        List<Object> args = new ArrayList<>();
+        String sql = filteredSelect(filter, "WHERE b.author = ? AND b.name = ?", args);
+        args.add(author);
+        args.add(name);
+        List<Blueprint> blueprints = jdbcTemplate.query(sql, blueprintRowMapper, args.toArray());
+        if (blueprints.isEmpty()) {
+            throw new BlueprintNotFoundException("Blueprint no encontrado: " + author + "/" + name);
+        }
+        return blueprints.get(0);
+    }
+
+    @Override
+    public Set<Blueprint> getBlueprintsByAuthor(String author, FilterDescriptor filter) throws BlueprintNotFoundException {
+        if (!pushesDownFilters()) {
+            return BlueprintPersistence.super.getBlueprintsByAuthor(author, filter);
+        }
+        List<Object> args = new ArrayList<>();
+        String sql = filteredSelect(filter, "WHERE b.author = ?", args);
+        args.add(author);
+        List<Blueprint> blueprints = jdbcTemplate.query(sql, blueprintRowMapper, args.toArray());
+        if (blueprints.isEmpty()) {
+            throw new BlueprintNotFoundException("No se encontraron blueprints para el autor: " + author);
+        }
+        return Set.copyOf(blueprints);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachBlueprint(Consumer<Blueprint> action, FilterDescriptor filter) {
+        if (!pushesDownFilters()) {
+            BlueprintPersistence.super.forEachBlueprint(action, filter);
+            return;
+        }
+        List<Object> args = new ArrayList<>();
+        String sql = filteredSelect(filter, "", args);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(streamFetchSize);
+            for (int i = 0; i < args.size(); i++) ps.setObject(i + 1, args.get(i));
+            return ps;
+        }, (RowCallbackHandler) rs -> action.accept(blueprintRowMapper.mapRow(rs, rs.getRow())));
+    }
+
     @Override
     @Transactional
     public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
-        String sql = "INSERT INTO blueprint (author, name, points) VALUES (?, ?, ?::jsonb)";
         try {
-            String pointsJson = objectMapper.writeValueAsString(bp.getPoints());
-            jdbcTemplate.update(sql, bp.getAuthor(), bp.getName(), pointsJson);
+            PointSnapshot pts = bp.snapshot();
+            PointStats stats = PointStats.of(pts);
+            Object points = binaryFormat() ? PointCodec.encode(pts) : objectMapper.writeValueAsString(bp.getPoints());
+            jdbcTemplate.update(insertSql(binaryFormat()), withBox(stats.box(), 3, bp.getAuthor(), bp.getName(), points,
+                    stats.count(), stats.sumX(), stats.sumY()));
         } catch (Exception e) {
             throw new BlueprintPersistenceException("Error guardando blueprint: " + e.getMessage());
         }
     }
 
+    @Override
+    @Transactional(rollbackFor = BlueprintPersistenceException.class)
+    public void saveBlueprints(List<Blueprint> bps) throws BlueprintPersistenceException {
+        // Con reWriteBatchedInserts=true en la URL el driver une el lote en INSERTs de varias filas
+        try {
+            List<Object[]> rows = new ArrayList<>(bps.size());
+            for (Blueprint bp : bps) {
+                PointSnapshot pts = bp.snapshot();
+                PointStats stats = PointStats.of(pts);
+                Object points = binaryFormat()
+                        ? PointCodec.encode(pts)
+                        : objectMapper.writeValueAsString(bp.getPoints());
+                rows.add(withBox(stats.box(), 3, bp.getAuthor(), bp.getName(), points,
+                        stats.count(), stats.sumX(), stats.sumY()));
+            }
+            jdbcTemplate.batchUpdate(insertSql(binaryFormat()), rows);
+        } catch (Exception e) {
+            throw new BlueprintPersistenceException("Error guardando blueprints: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Importa con COPY ... FROM STDIN en formato texto: las filas se escriben al driver en bloques
+     * de {@code COPY_CHUNK} caracteres a medida que se leen de {@code source}, así que la memoria
+     * no depende del tamaño de la importación. Todo va en una sola sentencia: si una fila falla
+     * (p. ej. un blueprint repetido) no queda nada importado.
+     */
+    @Override
+    @Transactional(rollbackFor = BlueprintPersistenceException.class)
+    public long importBlueprints(Iterator<Blueprint> source) throws BlueprintPersistenceException {
+        String sql = "COPY blueprint (author, name, " + (binaryFormat() ? "points_bin" : "points")
+                + ", min_x, min_y, max_x, max_y, point_count, sum_x, sum_y) FROM STDIN";
+        try {
+            Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+                CopyIn copy = con.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+                try {
+                    StringBuilder chunk = new StringBuilder(COPY_CHUNK + 1024);
+                    while (source.hasNext()) {
+                        appendCopyRow(chunk, source.next());
+                        if (chunk.length() >= COPY_CHUNK) {
+                            writeCopy(copy, chunk);
+                        }
+                    }
+                    writeCopy(copy, chunk);
+                    return copy.endCopy();
+                } finally {
+                    if (copy.isActive()) copy.cancelCopy();
+                }
+            });
+            return rows != null ? rows : 0;
+        } catch (DataAccessException e) {
+            throw new BlueprintPersistenceException("Error importando blueprints: " + e.getMessage());
+        }
+    }
+
+    private static final int COPY_CHUNK = 64 * 1024;
+
+    private void appendCopyRow(StringBuilder line, Blueprint bp) {
+        PointSnapshot pts = bp.snapshot();
+        CopyText.appendEscaped(line, bp.getAuthor());
+        line.append('\t');
+        CopyText.appendEscaped(line, bp.getName());
+        line.append('\t');
+        if (binaryFormat()) {
+            CopyText.appendBytea(line, PointCodec.encode(pts));
+        } else {
+            CopyText.appendPointsJson(line, pts);
+        }
+        PointStats stats = PointStats.of(pts);
+        BoundingBox box = stats.box();
+        if (box == null) {
+            line.append('\t').append(CopyText.NULL).append('\t').append(CopyText.NULL)
+                    .append('\t').append(CopyText.NULL).append('\t').append(CopyText.NULL);
+        } else {
+            line.append('\t').append(box.minX()).append('\t').append(box.minY())
+                    .append('\t').append(box.maxX()).append('\t').append(box.maxY());
+        }
+        line.append('\t').append(stats.count()).append('\t').append(stats.sumX()).append('\t').append(stats.sumY());
+        line.append('\n');
+    }
+
+    private static void writeCopy(CopyIn copy, StringBuilder chunk) throws SQLException {
+        if (chunk.isEmpty()) return;
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+
+    /**
+     * Exporta con COPY (SELECT ...) TO STDOUT: el driver entrega una fila por lectura y cada una
+     * se entrega a {@code action} antes de pedir la siguiente.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBlueprints(Consumer<Blueprint> action) {
+        String sql = "COPY (" + select("") + ") TO STDOUT";
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            CopyOut copy = con.unwrap(PGConnection.class).getCopyAPI().copyOut(sql);
+            try {
+                for (byte[] row = copy.readFromCopy(); row != null; row = copy.readFromCopy()) {
+                    action.accept(copyRow(CopyText.fields(new String(row, StandardCharsets.UTF_8))));
+                }
+                return null;
+            } finally {
+                if (copy.isActive()) copy.cancelCopy();
+            }
+        });
+    }
+
+    /**
+     * Columnas de {@link #select}: author, name, points y, en binario, points_bin.
+     */
+    private Blueprint copyRow(List<String> fields) {
+        String author = fields.get(0);
+        String name = fields.get(1);
+        if (binaryFormat() && fields.get(3) != null) {
+            return new Blueprint(author, name, PointCodec.decode(CopyText.bytea(fields.get(3))));
+        }
+        try {
+            return new Blueprint(author, name, decodePointsJson(fields.get(2)));
+        } catch (Exception e) {
+            throw new RuntimeException("Error deserializando puntos del blueprint: " + author + "/" + name, e);
+        }
+    }
+
     @Override
     public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
-        String sql = "SELECT author, name, points FROM blueprint WHERE author = ? AND name = ?";
+        String sql = select("WHERE b.author = ? AND b.name = ?");
         List<Blueprint> blueprints = jdbcTemplate.query(sql, blueprintRowMapper, author, name);
         if (blueprints.isEmpty()) {
             throw new BlueprintNotFoundException("Blueprint no encontrado: " + author + "/" + name);
@@ -76,7 +470,7 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
 
     @Override
     public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
-        String sql = "SELECT author, name, points FROM blueprint WHERE author = ?";
+        String sql = select("WHERE b.author = ?");
         List<Blueprint> blueprints = jdbcTemplate.query(sql, blueprintRowMapper, author);
         if (blueprints.isEmpty()) {
             throw new BlueprintNotFoundException("No se encontraron blueprints para el autor: " + author);
@@ -86,25 +480,418 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
 
     @Override
     public Set<Blueprint> getAllBlueprints() {
-        String sql = "SELECT author, name, points FROM blueprint";
+        String sql = select("");
         List<Blueprint> blueprints = jdbcTemplate.query(sql, blueprintRowMapper);
         return Set.copyOf(blueprints);
     }
 
+    @Override
+    public List<Blueprint> getBlueprintsPage(String afterAuthor, String afterName, int limit) {
+        if (afterAuthor == null) {
+            String sql = select("ORDER BY b.author, b.name LIMIT ?");
+            return jdbcTemplate.query(sql, blueprintRowMapper, limit);
+        }
+        // La comparación de filas usa directamente el índice de la llave primaria (author, name)
+        String sql = select("WHERE (b.author, b.name) > (?, ?) ORDER BY b.author, b.name LIMIT ?");
+        return jdbcTemplate.query(sql, blueprintRowMapper, afterAuthor, afterName, limit);
+    }
+
+    /**
+     * Una sola consulta para todo el lote; cada par (autor, nombre) usa la llave primaria.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Blueprint> getBlueprints(List<BlueprintKey> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        Object[] args = new Object[keys.size() * 2];
+        for (int i = 0; i < keys.size(); i++) {
+            args[2 * i] = keys.get(i).author();
+            args[2 * i + 1] = keys.get(i).name();
+        }
+        String sql = select("WHERE (b.author, b.name) IN (" + String.join(", ", Collections.nCopies(keys.size(), "(?, ?)")) + ")");
+        return jdbcTemplate.query(sql, blueprintRowMapper, args);
+    }
+
+    /**
+     * Usa el índice GiST sobre la caja de cada fila; las filas sin puntos tienen caja NULL y no aparecen.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Blueprint> getBlueprintsInBox(BoundingBox box) {
+        String sql = select("WHERE box(point(b.min_x, b.min_y), point(b.max_x, b.max_y)) && box(point(?, ?), point(?, ?))");
+        return jdbcTemplate.query(sql, blueprintRowMapper, box.minX(), box.minY(), box.maxX(), box.maxY());
+    }
+
+    /**
+     * Columnas version y pending_bin sobre la tabla con alias b. La versión es la cantidad de puntos
+     * del resumen; las filas binarias que {@link #backfillBinarySummaries} aún no completó traen
+     * points_bin y la cantidad se cuenta aquí con {@link PointCodec#count}, así la versión de una
+     * fila es la misma antes y después del backfill y nunca retrocede.
+     */
+    private String versionColumns() {
+        if (binaryFormat()) {
+            return "COALESCE(b.point_count, CASE WHEN b.points_bin IS NULL THEN jsonb_array_length(b.points) END) AS version, "
+                    + "CASE WHEN b.point_count IS NULL THEN b.points_bin END AS pending_bin";
+        }
+        String version = pointLogEnabled
+                ? "COALESCE(b.point_count, jsonb_array_length(b.points)"
+                        + " + (SELECT count(*) FROM blueprint_point p WHERE p.author = b.author AND p.name = b.name))"
+                : "COALESCE(b.point_count, jsonb_array_length(b.points))";
+        return version + " AS version, NULL::bytea AS pending_bin";
+    }
+
+    private static long version(ResultSet rs) throws SQLException {
+        if (rs.getObject("version") != null) {
+            return rs.getLong("version");
+        }
+        byte[] pendingBin = rs.getBytes("pending_bin");
+        return pendingBin != null ? PointCodec.count(pendingBin) : 0;
+    }
+
+    private final RowMapper<BlueprintVersion> versionRowMapper =
+            (rs, rowNum) -> new BlueprintVersion(rs.getString("author"), rs.getString("name"), version(rs));
+
+    @Override
+    public long getVersion(String author, String name) throws BlueprintNotFoundException {
+        String sql = "SELECT " + versionColumns() + " FROM blueprint b WHERE b.author = ? AND b.name = ?";
+        List<Long> versions = jdbcTemplate.query(sql, (rs, rowNum) -> version(rs), author, name);
+        if (versions.isEmpty()) {
+            throw new BlueprintNotFoundException("Blueprint no encontrado: " + author + "/" + name);
+        }
+        return versions.get(0);
+    }
+
+    @Override
+    public List<BlueprintVersion> getVersionsByAuthor(String author) throws BlueprintNotFoundException {
+        String sql = "SELECT b.author, b.name, " + versionColumns() + " FROM blueprint b WHERE b.author = ?";
+        List<BlueprintVersion> versions = jdbcTemplate.query(sql, versionRowMapper, author);
+        if (versions.isEmpty()) {
+            throw new BlueprintNotFoundException("No se encontraron blueprints para el autor: " + author);
+        }
+        return versions;
+    }
+
+    @Override
+    public List<BlueprintVersion> getVersionsPage(String afterAuthor, String afterName, int limit) {
+        String select = "SELECT b.author, b.name, " + versionColumns() + " FROM blueprint b ";
+        if (afterAuthor == null) {
+            return jdbcTemplate.query(select + "ORDER BY b.author, b.name LIMIT ?", versionRowMapper, limit);
+        }
+        return jdbcTemplate.query(select + "WHERE (b.author, b.name) > (?, ?) ORDER BY b.author, b.name LIMIT ?",
+                versionRowMapper, afterAuthor, afterName, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachBlueprint(Consumer<Blueprint> action) {
+        String sql = select("");
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(streamFetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> action.accept(blueprintRowMapper.mapRow(rs, rs.getRow())));
+    }
+
     @Override
     @Transactional
     public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
-        // Versión mejorada: operación atómica en la base de datos usando concatenación JSONB
-        String sql = "UPDATE blueprint SET points = points || ?::jsonb WHERE author = ? AND name = ?";
+        int updated;
+        if (pointLogEnabled) {
+            // Solo las columnas enteras de la fila: el JSONB no se reescribe. Se actualiza antes de
+            // insertar para tomar el bloqueo de la fila que espera compactPointLog
+            updated = jdbcTemplate.update("UPDATE blueprint SET " + EXTEND_BBOX + ", " + EXTEND_SUMMARY + " WHERE author = ? AND name = ?",
+                    withBox(new BoundingBox(x, y, x, y), 0, 1, x, y, author, name));
+            if (updated > 0) {
+                // Inserción de costo constante: no toca el arreglo base sin importar su tamaño
+                jdbcTemplate.update("INSERT INTO blueprint_point (author, name, x, y) VALUES (?, ?, ?, ?)", author, name, x, y);
+            }
+        } else if (binaryFormat()) {
+            updated = appendBinary(author, name, "[" + pointJson(x, y) + "]", PointCodec.encode(List.of(new Point(x, y))),
+                    PointStats.of(List.of(new Point(x, y))));
+        } else {
+            // Versión mejorada: operación atómica en la base de datos usando concatenación JSONB
+            String sql = "UPDATE blueprint SET points = points || ?::jsonb, " + EXTEND_BBOX + ", " + EXTEND_SUMMARY
+                    + " WHERE author = ? AND name = ?";
+            updated = jdbcTemplate.update(sql, withBox(new BoundingBox(x, y, x, y), 1, "[" + pointJson(x, y) + "]",
+                    1, x, y, author, name));
+        }
+        if (updated == 0) {
+            throw new BlueprintNotFoundException("Blueprint no encontrado: " + author + "/" + name);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException {
+        String pointsJson;
         try {
-            // Creamos un objeto JSON con el nuevo punto
-            String newPointJson = objectMapper.writeValueAsString(new Point(x, y));
-            int updated = jdbcTemplate.update(sql, "[" + newPointJson + "]", author, name);
-            if (updated == 0) {
-                throw new BlueprintNotFoundException("Blueprint no encontrado: " + author + "/" + name);
+            pointsJson = objectMapper.writeValueAsString(points);
+        } catch (Exception e) {
+            throw new RuntimeException("Error serializando puntos del blueprint: " + e.getMessage(), e);
+        }
+        PointStats stats = PointStats.of(points);
+        int updated;
+        if (pointLogEnabled) {
+            // Como en addPoint, primero la fila (y su bloqueo) y después el registro
+            updated = jdbcTemplate.update("UPDATE blueprint SET " + EXTEND_BBOX + ", " + EXTEND_SUMMARY + " WHERE author = ? AND name = ?",
+                    withBox(stats.box(), 0, stats.count(), stats.sumX(), stats.sumY(), author, name));
+            if (updated > 0) {
+                String sql = "INSERT INTO blueprint_point (author, name, x, y) "
+                        + "SELECT ?, ?, (e.p->>'x')::int, (e.p->>'y')::int "
+                        + "FROM jsonb_array_elements(?::jsonb) WITH ORDINALITY AS e(p, ord) ORDER BY e.ord";
+                jdbcTemplate.update(sql, author, name, pointsJson);
             }
+        } else if (binaryFormat()) {
+            updated = appendBinary(author, name, pointsJson, PointCodec.encode(points), stats);
+        } else {
+            String sql = "UPDATE blueprint SET points = points || ?::jsonb, " + EXTEND_BBOX + ", " + EXTEND_SUMMARY
+                    + " WHERE author = ? AND name = ?";
+            updated = jdbcTemplate.update(sql, withBox(stats.box(), 1, pointsJson,
+                    stats.count(), stats.sumX(), stats.sumY(), author, name));
+        }
+        if (updated == 0) {
+            throw new BlueprintNotFoundException("Blueprint no encontrado: " + author + "/" + name);
+        }
+    }
+
+    /**
+     * En JSONB la cola se corta dentro de la consulta (WITH ORDINALITY) y solo viajan los puntos
+     * nuevos; points_bin solo se puede decodificar en Java, así que en binario se lee completo.
+     */
+    @Override
+    public List<Point> getPointsSince(String author, String name, int from) throws BlueprintNotFoundException {
+        if (binaryFormat()) {
+            return BlueprintPersistence.super.getPointsSince(author, name, from);
+        }
+        String sql = "SELECT COALESCE((SELECT jsonb_agg(e.p ORDER BY e.ord) FROM jsonb_array_elements(" + pointsJsonExpr()
+                + ") WITH ORDINALITY AS e(p, ord) WHERE e.ord > ?), '[]'::jsonb) FROM blueprint b WHERE b.author = ? AND b.name = ?";
+        List<String> tails = jdbcTemplate.queryForList(sql, String.class, from, author, name);
+        if (tails.isEmpty()) {
+            throw new BlueprintNotFoundException("Blueprint no encontrado: " + author + "/" + name);
+        }
+        try {
+            return decodePointsJson(tails.get(0));
+        } catch (IOException e) {
+            throw new RuntimeException("Error deserializando puntos del blueprint: " + author + "/" + name, e);
+        }
+    }
+
+    /**
+     * SELECT de resúmenes sobre la tabla con alias b. Los puntos solo se traen (como pending_*) para
+     * las filas que todavía no tienen resumen.
+     */
+    private String summarySelect(String rest) {
+        return "SELECT b.author, b.name, b.point_count, b.sum_x, b.sum_y, b.min_x, b.min_y, b.max_x, b.max_y, "
+                + "CASE WHEN b.point_count IS NULL THEN b.points_bin END AS pending_bin, "
+                + "CASE WHEN b.point_count IS NULL THEN " + pointsJsonExpr() + " END AS pending_points "
+                + "FROM blueprint b " + rest;
+    }
+
+    private final RowMapper<BlueprintSummary> summaryRowMapper = (rs, rowNum) -> {
+        String author = rs.getString("author");
+        String name = rs.getString("name");
+        if (rs.getObject("point_count") == null) {
+            byte[] pendingBin = rs.getBytes("pending_bin");
+            PointStats stats;
+            try {
+                stats = pendingBin != null
+                        ? PointStats.of(PointCodec.decode(pendingBin).snapshot())
+                        : PointStats.of(decodePointsJson(rs.getString("pending_points")));
+            } catch (Exception e) {
+                throw new RuntimeException("Error deserializando puntos del blueprint: " + author + "/" + name, e);
+            }
+            return BlueprintSummary.of(author, name, stats.count(), stats);
+        }
+        long count = rs.getLong("point_count");
+        BoundingBox box = rs.getObject("min_x") == null ? null
+                : new BoundingBox(rs.getInt("min_x"), rs.getInt("min_y"), rs.getInt("max_x"), rs.getInt("max_y"));
+        return BlueprintSummary.of(author, name, count, count, box, rs.getLong("sum_x"), rs.getLong("sum_y"));
+    };
+
+    @Override
+    public List<BlueprintSummary> getSummariesByAuthor(String author) throws BlueprintNotFoundException {
+        List<BlueprintSummary> summaries = jdbcTemplate.query(summarySelect("WHERE b.author = ?"), summaryRowMapper, author);
+        if (summaries.isEmpty()) {
+            throw new BlueprintNotFoundException("No se encontraron blueprints para el autor: " + author);
+        }
+        return summaries;
+    }
+
+    @Override
+    public List<BlueprintSummary> getSummariesPage(String afterAuthor, String afterName, int limit) {
+        if (afterAuthor == null) {
+            return jdbcTemplate.query(summarySelect("ORDER BY b.author, b.name LIMIT ?"), summaryRowMapper, limit);
+        }
+        return jdbcTemplate.query(summarySelect("WHERE (b.author, b.name) > (?, ?) ORDER BY b.author, b.name LIMIT ?"),
+                summaryRowMapper, afterAuthor, afterName, limit);
+    }
+
+    /**
+     * Agregado de las columnas de resumen, sin leer puntos; las filas aún sin resumen se suman
+     * leyendo sus puntos.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SummaryTotals getSummaryTotals() {
+        String sql = "SELECT count(*), COALESCE(sum(point_count), 0), min(min_x), min(min_y), max(max_x), max(max_y), "
+                + "COALESCE(sum(sum_x), 0), COALESCE(sum(sum_y), 0) FROM blueprint WHERE point_count IS NOT NULL";
+        SummaryTotals summarized = jdbcTemplate.queryForObject(sql, (rs, rowNum) -> {
+            long points = rs.getLong(2);
+            BoundingBox box = rs.getObject(3) == null ? null
+                    : new BoundingBox(rs.getInt(3), rs.getInt(4), rs.getInt(5), rs.getInt(6));
+            return new SummaryTotals(rs.getLong(1), points, box,
+                    BlueprintSummary.Centroid.of(points, rs.getDouble(7), rs.getDouble(8)));
+        });
+        SummaryTotals[] totals = {summarized};
+        jdbcTemplate.query(summarySelect("WHERE b.point_count IS NULL"),
+                (RowCallbackHandler) rs -> totals[0] = totals[0].plus(SummaryTotals.of(summaryRowMapper.mapRow(rs, rs.getRow()))));
+        return totals[0];
+    }
+
+    /**
+     * Sale de las columnas de resumen: las métricas ya no recorren los puntos.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public StorageStats storageStats() {
+        SummaryTotals totals = getSummaryTotals();
+        return new StorageStats(totals.blueprints(), totals.points());
+    }
+
+    /**
+     * Pliega el registro en el arreglo JSONB de los blueprints con los puntos más antiguos.
+     * Borrar del registro y concatenar ocurre en una sola sentencia, así que ninguna lectura
+     * ve un punto dos veces ni deja de verlo. Cada blueprint se reescribe una vez por lote.
+     *
+     * Las escrituras bloquean la fila del blueprint antes de insertar en el registro. Aquí se
+     * bloquean las filas elegidas (en orden, para no cruzarse con otra compactación) antes de
+     * plegar: así se espera a las escrituras en curso y no se pliega un punto mientras uno
+     * anterior del mismo blueprint sigue sin confirmar. El plegado es otra sentencia para que
+     * vea lo que esas escrituras confirmaron mientras se esperaba.
+     */
+    @Scheduled(fixedDelayString = "${blueprints.postgres.point-log.compaction-interval-ms:30000}")
+    @Transactional
+    public void compactPointLog() {
+        if (!pointLogEnabled) return;
+        String lock = "SELECT b.author, b.name FROM blueprint b WHERE (b.author, b.name) IN ("
+                + "  SELECT author, name FROM blueprint_point ORDER BY seq LIMIT ?"
+                + ") ORDER BY b.author, b.name FOR UPDATE OF b";
+        List<BlueprintKey> locked = jdbcTemplate.query(lock,
+                (rs, rowNum) -> new BlueprintKey(rs.getString(1), rs.getString(2)), compactionBatch);
+        if (locked.isEmpty()) return;
+        String fold = "WITH moved AS ("
+                + "  DELETE FROM blueprint_point WHERE (author, name) IN (SELECT * FROM unnest(?::text[], ?::text[]))"
+                + "  RETURNING author, name, seq, x, y"
+                + "), folded AS ("
+                + "  SELECT author, name, jsonb_agg(jsonb_build_object('x', x, 'y', y) ORDER BY seq) AS pts"
+                + "  FROM moved GROUP BY author, name"
+                + ") UPDATE blueprint b SET points = b.points || f.pts FROM folded f"
+                + " WHERE b.author = f.author AND b.name = f.name";
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(fold);
+            ps.setArray(1, con.createArrayOf("text", locked.stream().map(BlueprintKey::author).toArray()));
+            ps.setArray(2, con.createArrayOf("text", locked.stream().map(BlueprintKey::name).toArray()));
+            return ps;
+        });
+    }
+
+    /**
+     * Agrega un bloque codificado a points_bin; si la fila aún no fue migrada agrega al JSONB.
+     */
+    private int appendBinary(String author, String name, String pointsJson, byte[] block, PointStats stats) {
+        String sql = "UPDATE blueprint SET "
+                + "points = CASE WHEN points_bin IS NULL THEN points || ?::jsonb ELSE points END, "
+                + "points_bin = CASE WHEN points_bin IS NULL THEN NULL ELSE points_bin || ? END, "
+                + EXTEND_BBOX + ", " + EXTEND_SUMMARY
+                + " WHERE author = ? AND name = ?";
+        return jdbcTemplate.update(sql, withBox(stats.box(), 2, pointsJson, block,
+                stats.count(), stats.sumX(), stats.sumY(), author, name));
+    }
+
+    /**
+     * Migra por lotes las filas que solo tienen puntos en JSONB al formato binario.
+     * Las filas sin migrar se siguen leyendo desde JSONB, así que la migración puede correr en caliente.
+     */
+    @Scheduled(fixedDelayString = "${blueprints.postgres.migration-interval-ms:10000}")
+    public void migrateToBinary() {
+        if (!binaryFormat() || migrationDone) return;
+        String select = "SELECT author, name, points FROM blueprint WHERE points_bin IS NULL LIMIT ?";
+        List<Object[]> rows = jdbcTemplate.query(select, (rs, rowNum) -> {
+            try {
+                String pointsJson = rs.getString("points");
+                List<Point> points = decodePointsJson(pointsJson);
+                return new Object[] { PointCodec.encode(points), rs.getString("author"), rs.getString("name"), pointsJson };
+            } catch (Exception e) {
+                throw new RuntimeException("Error migrando puntos del blueprint: " + rs.getString("author") + "/" + rs.getString("name"), e);
+            }
+        }, migrationBatch);
+        if (rows.isEmpty()) {
+            migrationDone = true;
+            return;
+        }
+        // Si la fila cambió mientras se codificaba el lote (addPoint sobre JSONB) no se toca y se reintenta después
+        String update = "UPDATE blueprint SET points_bin = ?, points = NULL "
+                + "WHERE author = ? AND name = ? AND points_bin IS NULL AND points = ?::jsonb";
+        jdbcTemplate.batchUpdate(update, rows);
+    }
+
+    /**
+     * Recalcula la caja de las filas binarias que schema.sql marcó con todo el rango int.
+     * Esa caja no cambia al agregar puntos, así que basta con no tocar la fila si points_bin cambió.
+     */
+    @Scheduled(fixedDelayString = "${blueprints.postgres.migration-interval-ms:10000}")
+    public void backfillBinaryBoxes() {
+        if (!binaryFormat() || boxBackfillDone) return;
+        String select = "SELECT author, name, points_bin FROM blueprint "
+                + "WHERE min_x = ? AND min_y = ? AND max_x = ? AND max_y = ? AND points_bin IS NOT NULL LIMIT ?";
+        List<Object[]> rows = jdbcTemplate.query(select, (rs, rowNum) -> {
+            byte[] pointsBin = rs.getBytes("points_bin");
+            return withBox(BoundingBox.of(PointCodec.decode(pointsBin).snapshot()), 0,
+                    rs.getString("author"), rs.getString("name"), pointsBin);
+        }, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, migrationBatch);
+        if (rows.isEmpty()) {
+            boxBackfillDone = true;
+            return;
+        }
+        String update = "UPDATE blueprint SET min_x = ?, min_y = ?, max_x = ?, max_y = ? "
+                + "WHERE author = ? AND name = ? AND points_bin = ?";
+        // Una fila que cambió mientras se decodificaba cuenta 0 en el resultado y sigue marcada:
+        // la siguiente pasada la vuelve a traer, por eso solo un SELECT vacío termina el relleno
+        jdbcTemplate.batchUpdate(update, rows);
+    }
+
+    /**
+     * Completa el resumen de las filas binarias anteriores a sus columnas (schema.sql solo puede
+     * calcularlo desde JSONB) y, ya que decodifica los puntos, también su caja. Si points_bin cambió
+     * mientras tanto la fila no se toca y se reintenta en la siguiente pasada.
+     */
+    @Scheduled(fixedDelayString = "${blueprints.postgres.migration-interval-ms:10000}")
+    public void backfillBinarySummaries() {
+        if (!binaryFormat() || summaryBackfillDone) return;
+        String select = "SELECT author, name, points_bin FROM blueprint "
+                + "WHERE point_count IS NULL AND points_bin IS NOT NULL LIMIT ?";
+        List<Object[]> rows = jdbcTemplate.query(select, (rs, rowNum) -> {
+            byte[] pointsBin = rs.getBytes("points_bin");
+            PointStats stats = PointStats.of(PointCodec.decode(pointsBin).snapshot());
+            return withBox(stats.box(), 0, stats.count(), stats.sumX(), stats.sumY(),
+                    rs.getString("author"), rs.getString("name"), pointsBin);
+        }, migrationBatch);
+        if (rows.isEmpty()) {
+            summaryBackfillDone = true;
+            return;
+        }
+        String update = "UPDATE blueprint SET min_x = ?, min_y = ?, max_x = ?, max_y = ?, point_count = ?, sum_x = ?, sum_y = ? "
+                + "WHERE author = ? AND name = ? AND points_bin = ?";
+        jdbcTemplate.batchUpdate(update, rows);
+    }
+
+    private String pointJson(int x, int y) {
+        try {
+            return objectMapper.writeValueAsString(new Point(x, y));
         } catch (Exception e) {
-            throw new RuntimeException("Error actualizando puntos del blueprint: " + e.getMessage(), e);
+            throw new RuntimeException("Error serializando punto del blueprint: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package edu.eci.arsw.blueprints.persistence.impl;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import edu.eci.arsw.blueprints.persistence.PersistenceBusyException;
+
+/**
+ * Limita las operaciones simultáneas sobre {@link PostgresBlueprintPersistence}. Con hilos
+ * virtuales cada petición tiene su propio hilo y una ráfaga puede dejar miles esperando una
+ * conexión del pool; aquí esperan en un semáforo justo y, si no obtienen turno en
+ * blueprints.postgres.acquire-timeout-ms, la petición falla con 503 en vez de agotar el pool.
+ *
+ * Los recorridos completos (forEachBlueprint) y la importación y exportación masivas retienen
+ * su conexión mientras dura el stream, que puede ser de minutos: no usan esos permisos sino los
+ * de blueprints.postgres.max-streams, para que unos pocos streams no dejen sin turno a las
+ * lecturas y escrituras cortas. max-concurrency + max-streams no debería pasar del tamaño del pool.
+ *
+ * Corre por fuera de @Transactional, así que el permiso se toma antes de pedir la conexión.
+ */
+@Aspect
+@Component
+@Profile("postgres")
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class PostgresConcurrencyLimiter {
+
+    private final Semaphore permits;
+    private final Semaphore streams;
+    private final long acquireTimeoutMs;
+
+    public PostgresConcurrencyLimiter(
+            @Value("${blueprints.postgres.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrency,
+            @Value("${blueprints.postgres.max-streams:2}") int maxStreams,
+            @Value("${blueprints.postgres.acquire-timeout-ms:5000}") long acquireTimeoutMs) {
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.streams = new Semaphore(maxStreams, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Pointcut("execution(* edu.eci.arsw.blueprints.persistence.BlueprintPersistence.*(..))"
+            + " && target(edu.eci.arsw.blueprints.persistence.impl.PostgresBlueprintPersistence)")
+    void postgres() {
+    }
+
+    @Pointcut("execution(* edu.eci.arsw.blueprints.persistence.BlueprintPersistence.forEachBlueprint(..))"
+            + " || execution(* edu.eci.arsw.blueprints.persistence.BlueprintPersistence.exportBlueprints(..))"
+            + " || execution(* edu.eci.arsw.blueprints.persistence.BlueprintPersistence.importBlueprints(..))")
+    void streaming() {
+    }
+
+    @Around("postgres() && !streaming()"
+            + " && !execution(boolean edu.eci.arsw.blueprints.persistence.BlueprintPersistence.pushesDownFilters())")
+    public Object limit(ProceedingJoinPoint pjp) throws Throwable {
+        return proceed(pjp, permits);
+    }
+
+    @Around("postgres() && streaming()")
+    public Object limitStreams(ProceedingJoinPoint pjp) throws Throwable {
+        return proceed(pjp, streams);
+    }
+
+    private Object proceed(ProceedingJoinPoint pjp, Semaphore semaphore) throws Throwable {
+        if (!semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+            throw new PersistenceBusyException("Base de datos ocupada, intente de nuevo");
+        }
+        try {
+            return pjp.proceed();
+        } finally {
+            semaphore.release();
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package edu.eci.arsw.blueprints.services;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointSnapshot;
+import edu.eci.arsw.blueprints.persistence.BlueprintKey;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Suscripciones a los puntos nuevos de un blueprint o de todos los de un autor.
+ *
+ * Al suscribirse se envía un evento "snapshot" por blueprint con todos sus puntos; después,
+ * eventos "points" con solo los puntos agregados desde el último envío. Como los blueprints
+ * solo agregan puntos, cada suscriptor guarda únicamente cuántos puntos ya recibió de cada
+ * blueprint y su delta se corta de la cola leída al momento de enviar.
+ *
+ * Los escritores solo marcan el blueprint como modificado ({@link #changed}); cada
+ * {@code blueprints.updates.batch-ms} se lee, una vez por blueprint marcado, la cola desde lo
+ * que tiene el suscriptor más atrasado ({@link BlueprintPersistence#getPointsSince}) y se
+ * entrega a sus suscriptores.
+ * Cada suscriptor envía en su propio hilo virtual y nunca tiene más de un envío en curso: si el
+ * cliente es lento, los cambios que llegan mientras tanto se juntan en el siguiente delta en vez
+ * de encolarse, así que ni bloquea a los escritores ni acumula memoria.
+ */
+@Component
+public class BlueprintUpdateHub {
+
+    /**
+     * Destino de los eventos de un suscriptor (p. ej. un SseEmitter).
+     */
+    public interface EventSink {
+        void send(String event, String json) throws IOException;
+
+        void close(Throwable error);
+    }
+
+    public interface Subscription {
+        void cancel();
+    }
+
+    /**
+     * {@code version} es la cantidad de puntos del blueprint que el cliente tiene tras el evento.
+     */
+    public record SnapshotEvent(String author, String name, long version, List<Point> points) { }
+
+    /**
+     * Puntos {@code [from, version)} del blueprint, en orden.
+     */
+    public record PointsEvent(String author, String name, long from, long version, List<Point> points) { }
+
+    /**
+     * Puntos {@code [from, from + points.size())} de un blueprint, leídos en una pasada de {@link #flush}.
+     */
+    private record Tail(int from, List<Point> points) { }
+
+    /**
+     * Snapshot inicial de un blueprint, tomada al suscribirse.
+     */
+    private record Initial(BlueprintKey key, PointSnapshot points) { }
+
+    private final BlueprintPersistence persistence;
+    private final ObjectMapper objectMapper;
+    private final int maxBatchPoints;
+
+    private final Map<BlueprintKey, Set<Subscriber>> byBlueprint = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> byAuthor = new ConcurrentHashMap<>();
+    private final Set<BlueprintKey> dirty = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public BlueprintUpdateHub(BlueprintPersistence persistence, ObjectMapper objectMapper,
+                              @Value("${blueprints.updates.max-batch-points:500}") int maxBatchPoints) {
+        this.persistence = persistence;
+        this.objectMapper = objectMapper;
+        this.maxBatchPoints = maxBatchPoints;
+    }
+
+    public Subscription subscribe(String author, String name, EventSink sink) throws BlueprintNotFoundException {
+        Subscriber s = new Subscriber(sink);
+        s.register(byBlueprint, new BlueprintKey(author, name));
+        return s.start(() -> List.of(persistence.getBlueprint(author, name)));
+    }
+
+    public Subscription subscribeAuthor(String author, EventSink sink) throws BlueprintNotFoundException {
+        Subscriber s = new Subscriber(sink);
+        s.register(byAuthor, author);
+        return s.start(() -> new ArrayList<>(persistence.getBlueprintsByAuthor(author)));
+    }
+
+    /**
+     * Llamado después de cada escritura confirmada; O(1) y sin bloquear.
+     */
+    public void changed(String author, String name) {
+        if (byBlueprint.isEmpty() && byAuthor.isEmpty()) {
+            return;
+        }
+        BlueprintKey key = new BlueprintKey(author, name);
+        if (byBlueprint.containsKey(key) || byAuthor.containsKey(author)) {
+            dirty.add(key);
+        }
+    }
+
+    /**
+     * Envía lo acumulado desde la última vez. spring.task.scheduling.pool.size da un hilo por tarea
+     * programada, así que las tareas largas de la persistencia no lo atrasan.
+     */
+    @Scheduled(fixedDelayString = "${blueprints.updates.batch-ms:50}")
+    public void flush() {
+        for (Iterator<BlueprintKey> it = dirty.iterator(); it.hasNext(); ) {
+            BlueprintKey key = it.next();
+            it.remove();
+            List<Subscriber> subscribers = new ArrayList<>(byBlueprint.getOrDefault(key, Set.of()));
+            subscribers.addAll(byAuthor.getOrDefault(key.author(), Set.of()));
+            if (subscribers.isEmpty()) {
+                continue;
+            }
+            int from = Integer.MAX_VALUE;
+            for (Subscriber s : subscribers) {
+                from = Math.min(from, s.sent(key));
+            }
+            Tail tail;
+            try {
+                tail = new Tail(from, persistence.getPointsSince(key.author(), key.name(), from));
+            } catch (BlueprintNotFoundException e) {
+                continue;
+            } catch (RuntimeException e) {
+                // Backend ocupado o caído: se reintenta en la siguiente pasada
+                dirty.add(key);
+                return;
+            }
+            if (tail.points().isEmpty()) {
+                continue;
+            }
+            for (Subscriber s : subscribers) {
+                s.offer(key, tail);
+            }
+        }
+    }
+
+    public int subscribers() {
+        return byBlueprint.values().stream().mapToInt(Set::size).sum()
+                + byAuthor.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void close() {
+        senders.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface InitialLoad {
+        List<Blueprint> load() throws BlueprintNotFoundException;
+    }
+
+    private final class Subscriber implements Subscription {
+
+        private final EventSink sink;
+        private Runnable unregister;
+        // Solo lo escribe el hilo que tiene "busy"; flush lo lee para saber desde dónde leer la cola
+        private final Map<BlueprintKey, Integer> sent = new ConcurrentHashMap<>();
+        private List<Initial> initial;
+        private final Map<BlueprintKey, Tail> latest = new ConcurrentHashMap<>();
+        private final AtomicBoolean busy = new AtomicBoolean(true);
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(EventSink sink) {
+            this.sink = sink;
+        }
+
+        <K> void register(Map<K, Set<Subscriber>> index, K key) {
+            index.compute(key, (k, set) -> {
+                Set<Subscriber> subscribers = set != null ? set : ConcurrentHashMap.newKeySet();
+                subscribers.add(this);
+                return subscribers;
+            });
+            unregister = () -> index.computeIfPresent(key, (k, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+        }
+
+        /**
+         * Se registra antes de leer la snapshot: lo que se agregue entre medio llega como delta
+         * desde el tamaño de la snapshot, sin repetir ni perder puntos.
+         */
+        Subscription start(InitialLoad load) throws BlueprintNotFoundException {
+            List<Initial> snapshots = new ArrayList<>();
+            try {
+                for (Blueprint bp : load.load()) {
+                    snapshots.add(new Initial(new BlueprintKey(bp.getAuthor(), bp.getName()), bp.snapshot()));
+                }
+            } catch (BlueprintNotFoundException | RuntimeException e) {
+                detach();
+                throw e;
+            }
+            // Antes de enviarla: desde aquí flush ya lee la cola a partir de la snapshot
+            for (Initial i : snapshots) {
+                sent.put(i.key(), i.points().size());
+            }
+            initial = snapshots;
+            senders.execute(this::drain);
+            return this;
+        }
+
+        int sent(BlueprintKey key) {
+            return sent.getOrDefault(key, 0);
+        }
+
+        /**
+         * Reemplaza una cola pendiente: la nueva empieza en o antes de lo ya enviado, porque se
+         * leyó desde el menor {@link #sent} de los suscriptores, y termina más adelante.
+         */
+        void offer(BlueprintKey key, Tail tail) {
+            latest.put(key, tail);
+            if (!closed.get() && busy.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (initial != null) {
+                    for (Initial i : initial) {
+                        PointSnapshot pts = i.points();
+                        send("snapshot", new SnapshotEvent(i.key().author(), i.key().name(), pts.size(), pts.asList()));
+                    }
+                    initial = null;
+                }
+                do {
+                    for (BlueprintKey key : latest.keySet()) {
+                        Tail tail = latest.remove(key);
+                        if (tail != null) sendDelta(key, tail);
+                    }
+                    busy.set(false);
+                } while (!latest.isEmpty() && !closed.get() && busy.compareAndSet(false, true));
+            } catch (IOException | RuntimeException e) {
+                cancel(e);
+            }
+        }
+
+        private void sendDelta(BlueprintKey key, Tail tail) throws IOException {
+            int from = sent(key);
+            int end = tail.from() + tail.points().size();
+            if (from < tail.from()) {
+                // No debería pasar (la cola se lee desde el menor enviado); se vuelve a leer desde aquí
+                dirty.add(key);
+                return;
+            }
+            while (from < end) {
+                int to = Math.min(end, from + maxBatchPoints);
+                send("points", new PointsEvent(key.author(), key.name(), from, to,
+                        tail.points().subList(from - tail.from(), to - tail.from())));
+                from = to;
+                sent.put(key, from);
+            }
+        }
+
+        private void send(String event, Object payload) throws IOException {
+            if (closed.get()) return;
+            try {
+                sink.send(event, objectMapper.writeValueAsString(payload));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Error serializando evento", e);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancel(null);
+        }
+
+        private void cancel(Throwable error) {
+            if (!closed.compareAndSet(false, true)) return;
+            detach();
+            sink.close(error);
+        }
+
+        private void detach() {
+            unregister.run();
+        }
+    }
+}
@@ -1,28 +1,117 @@
 package edu.eci.arsw.blueprints.services;
 
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import edu.eci.arsw.blueprints.dto.AuthorSummary;
+import edu.eci.arsw.blueprints.dto.PageCursor;
+import edu.eci.arsw.blueprints.dto.SummaryPage;
 import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.filters.FilterDescriptor;
+import edu.eci.arsw.blueprints.filters.FilterPipelineFactory;
+import edu.eci.arsw.blueprints.metrics.FilterMetrics;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.Point;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.BlueprintSummary;
+import edu.eci.arsw.blueprints.persistence.BlueprintVersion;
+import edu.eci.arsw.blueprints.persistence.CachingBlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.SummaryTotals;
 
 @Service
 public class BlueprintsServices {
 
     private final BlueprintPersistence persistence;
     private final BlueprintsFilter filter;
+    private final FilteredBlueprintCache cache;
+    private final FilterPipelineFactory pipelines;
+    private final LevelOfDetailIndex lod;
+    private final FilterMetrics filterMetrics;
+    private final SerializedBlueprintCache jsonCache;
+    private final BlueprintUpdateHub updates;
+    private final ObjectWriter writer;
+    /** Escrituras terminadas desde el arranque; {@link #getCollectionVersion} parte de un valor al azar por proceso. */
+    private final AtomicLong writes = new AtomicLong(ThreadLocalRandom.current().nextLong());
+
+    /**
+     * Página de blueprints ya serializados; {@code next} como en {@link edu.eci.arsw.blueprints.dto.BlueprintPage}.
+     */
+    public record JsonPage(List<byte[]> items, String next) { }
 
-    public BlueprintsServices(BlueprintPersistence persistence, BlueprintsFilter filter) {
+    public BlueprintsServices(BlueprintPersistence persistence, BlueprintsFilter filter,
+                              FilteredBlueprintCache cache, FilterPipelineFactory pipelines,
+                              LevelOfDetailIndex lod, FilterMetrics filterMetrics,
+                              SerializedBlueprintCache jsonCache, BlueprintUpdateHub updates,
+                              ObjectMapper objectMapper) {
         this.persistence = persistence;
-        this.filter = filter;
+        this.filter = filterMetrics.timed(filter);
+        this.cache = cache;
+        this.pipelines = pipelines;
+        this.lod = lod;
+        this.filterMetrics = filterMetrics;
+        this.jsonCache = jsonCache;
+        this.updates = updates;
+        this.writer = objectMapper.writerFor(Blueprint.class);
+    }
+
+    /**
+     * Filtro para una petición: el del perfil activo si {@code spec} está vacío, o la cadena
+     * de filtros indicada (p. ej. "redundancy,undersampling").
+     *
+     * @throws IllegalArgumentException si algún filtro no existe
+     */
+    public BlueprintsFilter resolveFilter(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return filter;
+        }
+        return filterMetrics.timed(pipelines.resolve(spec));
     }
 
     public void addNewBlueprint(Blueprint bp) throws BlueprintPersistenceException {
+        validate(bp);
+        try {
+            persistence.saveBlueprint(bp);
+        } finally {
+            writes.incrementAndGet();
+        }
+        invalidate(bp.getAuthor(), bp.getName());
+    }
+
+    public void addNewBlueprints(List<Blueprint> bps) throws BlueprintPersistenceException {
+        if (bps == null || bps.isEmpty()) {
+            throw new BlueprintPersistenceException("La lista de blueprints no puede estar vacía");
+        }
+        for (Blueprint bp : bps) {
+            validate(bp);
+        }
+        try {
+            persistence.saveBlueprints(bps);
+        } finally {
+            writes.incrementAndGet();
+        }
+        for (Blueprint bp : bps) {
+            invalidate(bp.getAuthor(), bp.getName());
+        }
+    }
+
+    private void validate(Blueprint bp) throws BlueprintPersistenceException {
         if (bp == null) {
             throw new BlueprintPersistenceException("El blueprint no puede ser nulo");
         }
@@ -35,32 +124,363 @@ public class BlueprintsServices {
         if (bp.getPoints() == null || bp.getPoints().isEmpty()) {
             throw new BlueprintPersistenceException("El blueprint debe tener al menos un punto");
         }
-        persistence.saveBlueprint(bp);
+    }
+
+    /**
+     * Avance de una importación masiva; {@code blueprintsPerSecond} desde que empezó.
+     */
+    public record ImportProgress(long blueprints, long elapsedMs, double blueprintsPerSecond) { }
+
+    /**
+     * Importa los blueprints de {@code source} a medida que se leen, sin juntarlos en memoria.
+     * Cada {@code every} blueprints, y al terminar, informa el avance a {@code progress}.
+     * Como en {@link #addNewBlueprints}, los blueprints deben ser nuevos; las suscripciones no
+     * reciben eventos por los blueprints importados.
+     *
+     * @throws IllegalArgumentException si un blueprint no es válido
+     */
+    public ImportProgress importBlueprints(Iterator<Blueprint> source, int every, Consumer<ImportProgress> progress)
+            throws BlueprintPersistenceException {
+        long start = System.nanoTime();
+        long[] count = {0};
+        Iterator<Blueprint> validated = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public Blueprint next() {
+                Blueprint bp = source.next();
+                try {
+                    validate(bp);
+                } catch (BlueprintPersistenceException e) {
+                    throw new IllegalArgumentException("Blueprint " + (count[0] + 1) + ": " + e.getMessage(), e);
+                }
+                if (++count[0] % every == 0) {
+                    progress.accept(progress(count[0], start));
+                }
+                return bp;
+            }
+        };
+        try {
+            persistence.importBlueprints(validated);
+        } finally {
+            writes.incrementAndGet();
+        }
+        ImportProgress done = progress(count[0], start);
+        progress.accept(done);
+        return done;
+    }
+
+    private static ImportProgress progress(long blueprints, long start) {
+        long elapsedNanos = System.nanoTime() - start;
+        double perSecond = elapsedNanos > 0 ? blueprints * 1e9 / elapsedNanos : 0;
+        return new ImportProgress(blueprints, elapsedNanos / 1_000_000, perSecond);
+    }
+
+    /**
+     * Recorre todos los blueprints sin filtrar con la vía masiva de la persistencia.
+     */
+    public void exportBlueprints(Consumer<Blueprint> action) {
+        persistence.exportBlueprints(action);
     }
 
     public Set<Blueprint> getAllBlueprints() {
+        return getAllBlueprints(filter);
+    }
+
+    public Set<Blueprint> getAllBlueprints(BlueprintsFilter f) {
         return persistence.getAllBlueprints().stream()
-                .map(filter::apply)
+                .map(bp -> cache.apply(f, bp))
                 .collect(Collectors.toSet());
     }
 
+    public List<Blueprint> getBlueprintsPage(String afterAuthor, String afterName, int limit) {
+        return getBlueprintsPage(afterAuthor, afterName, limit, filter);
+    }
+
+    public List<Blueprint> getBlueprintsPage(String afterAuthor, String afterName, int limit, BlueprintsFilter f) {
+        return persistence.getBlueprintsPage(afterAuthor, afterName, limit).stream()
+                .map(bp -> cache.apply(f, bp))
+                .toList();
+    }
+
+    public void forEachBlueprint(Consumer<Blueprint> action) {
+        forEachBlueprint(action, filter);
+    }
+
+    public void forEachBlueprint(Consumer<Blueprint> action, BlueprintsFilter f) {
+        FilterDescriptor pushed = pushdown(f, null, null);
+        if (pushed != null) {
+            persistence.forEachBlueprint(action, pushed);
+            return;
+        }
+        // Sin caché: un recorrido completo desplazaría del LRU a los blueprints que sí se consultan seguido
+        persistence.forEachBlueprint(bp -> action.accept(f.apply(bp)));
+    }
+
     public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
+        return getBlueprintsByAuthor(author, filter);
+    }
+
+    public Set<Blueprint> getBlueprintsByAuthor(String author, BlueprintsFilter f) throws BlueprintNotFoundException {
         if (author == null || author.trim().isEmpty()) {
             throw new BlueprintNotFoundException("El autor no puede estar vacío");
         }
+        FilterDescriptor pushed = pushdown(f, author, null);
+        if (pushed != null) {
+            return persistence.getBlueprintsByAuthor(author, pushed);
+        }
         return persistence.getBlueprintsByAuthor(author).stream()
-                .map(filter::apply)
+                .map(bp -> cache.apply(f, bp))
                 .collect(Collectors.toSet());
     }
 
     public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
+        return getBlueprint(author, name, filter);
+    }
+
+    public Blueprint getBlueprint(String author, String name, BlueprintsFilter f) throws BlueprintNotFoundException {
+        if (author == null || author.trim().isEmpty()) {
+            throw new BlueprintNotFoundException("El autor no puede estar vacío");
+        }
+        if (name == null || name.trim().isEmpty()) {
+            throw new BlueprintNotFoundException("El nombre no puede estar vacío");
+        }
+        FilterDescriptor pushed = pushdown(f, author, name);
+        if (pushed != null) {
+            return persistence.getBlueprint(author, name, pushed);
+        }
+        return cache.apply(f, persistence.getBlueprint(author, name));
+    }
+
+    /**
+     * JSON de {@link #getBlueprint(String, String, BlueprintsFilter)}, tomado del caché de fragmentos.
+     */
+    public byte[] getBlueprintJson(String author, String name, BlueprintsFilter f) throws BlueprintNotFoundException {
         if (author == null || author.trim().isEmpty()) {
             throw new BlueprintNotFoundException("El autor no puede estar vacío");
         }
         if (name == null || name.trim().isEmpty()) {
             throw new BlueprintNotFoundException("El nombre no puede estar vacío");
         }
-        return filter.apply(persistence.getBlueprint(author, name));
+        FilterDescriptor pushed = pushdown(f, author, name);
+        if (pushed != null) {
+            return write(persistence.getBlueprint(author, name, pushed));
+        }
+        return json(f, persistence.getBlueprint(author, name));
+    }
+
+    public List<byte[]> getBlueprintsByAuthorJson(String author, BlueprintsFilter f) throws BlueprintNotFoundException {
+        if (author == null || author.trim().isEmpty()) {
+            throw new BlueprintNotFoundException("El autor no puede estar vacío");
+        }
+        FilterDescriptor pushed = pushdown(f, author, null);
+        if (pushed != null) {
+            return persistence.getBlueprintsByAuthor(author, pushed).stream().map(this::write).toList();
+        }
+        return persistence.getBlueprintsByAuthor(author).stream()
+                .map(bp -> json(f, bp))
+                .toList();
+    }
+
+    public List<byte[]> getAllBlueprintsJson(BlueprintsFilter f) {
+        return persistence.getAllBlueprints().stream()
+                .map(bp -> json(f, bp))
+                .toList();
+    }
+
+    public JsonPage getBlueprintsPageJson(String afterAuthor, String afterName, int limit, BlueprintsFilter f) {
+        List<Blueprint> page = persistence.getBlueprintsPage(afterAuthor, afterName, limit);
+        List<byte[]> items = page.stream().map(bp -> json(f, bp)).toList();
+        if (page.size() < limit) {
+            return new JsonPage(items, null);
+        }
+        Blueprint last = page.get(page.size() - 1);
+        return new JsonPage(items, new PageCursor(last.getAuthor(), last.getName()).encode());
+    }
+
+    /**
+     * Blueprints cuyo trazo (sin filtrar) pasa por el rectángulo, ordenados por autor y nombre.
+     * La persistencia descarta por caja envolvente; aquí se prueba cada segmento contra el rectángulo.
+     */
+    public List<Blueprint> searchBlueprints(BoundingBox box, BlueprintsFilter f) {
+        return search(box).stream().map(bp -> cache.apply(f, bp)).toList();
+    }
+
+    public List<byte[]> searchBlueprintsJson(BoundingBox box, BlueprintsFilter f) {
+        return search(box).stream().map(bp -> json(f, bp)).toList();
+    }
+
+    private List<Blueprint> search(BoundingBox box) {
+        return persistence.getBlueprintsInBox(box).stream()
+                .filter(bp -> box.touchedBy(bp.snapshot()))
+                .sorted(Comparator.comparing(Blueprint::getAuthor).thenComparing(Blueprint::getName))
+                .toList();
+    }
+
+    private byte[] json(BlueprintsFilter f, Blueprint bp) {
+        return jsonCache.get(f, bp, b -> write(cache.apply(f, b)));
+    }
+
+    private byte[] write(Blueprint bp) {
+        try {
+            return writer.writeValueAsBytes(bp);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Descriptor de {@code f} si conviene que la persistencia lo ejecute para no traer los puntos
+     * que el filtro descarta; null para traer el blueprint completo y filtrarlo aquí con caché.
+     * Los resultados filtrados en la persistencia no pasan por los cachés (su versión es la del
+     * resultado, no la del blueprint), así que se usa donde los cachés no ayudan: recorridos
+     * completos ({@code author} null), que no los usan; lecturas con un rango, que traen pocos
+     * puntos de muchos; y la primera lectura reciente de un blueprint o un autor ({@code name}
+     * null) sin resultado guardado. Las siguientes lecturas de esa llave van por los cachés.
+     */
+    private FilterDescriptor pushdown(BlueprintsFilter f, String author, String name) {
+        if (!persistence.pushesDownFilters()) {
+            return null;
+        }
+        FilterDescriptor d = f.descriptor();
+        if (d == null || d.isEmpty()) {
+            return null;
+        }
+        if (author == null || d.steps().stream().anyMatch(FilterDescriptor.Range.class::isInstance)) {
+            return d;
+        }
+        return cache.firstRead(author, name, f.name()) ? d : null;
+    }
+
+    private void invalidate(String author, String name) {
+        cache.invalidate(author, name);
+        jsonCache.invalidate(author, name);
+        updates.changed(author, name);
+    }
+
+    /**
+     * Como {@link #invalidate}, pero el blueprint solo creció: los filtros incrementales conservan su estado.
+     */
+    private void appended(String author, String name) {
+        cache.appended(author, name);
+        jsonCache.invalidate(author, name);
+        updates.changed(author, name);
+    }
+
+    /**
+     * Suscribe {@code sink} a los puntos nuevos de un blueprint (sin filtrar).
+     */
+    public BlueprintUpdateHub.Subscription subscribe(String author, String name, BlueprintUpdateHub.EventSink sink)
+            throws BlueprintNotFoundException {
+        return updates.subscribe(author, name, sink);
+    }
+
+    /**
+     * Suscribe {@code sink} a los puntos nuevos de todos los blueprints del autor, incluidos los
+     * que se creen después.
+     */
+    public BlueprintUpdateHub.Subscription subscribeAuthor(String author, BlueprintUpdateHub.EventSink sink)
+            throws BlueprintNotFoundException {
+        return updates.subscribeAuthor(author, sink);
+    }
+
+    /**
+     * Nivel de detalle {@code level} del blueprint (0 = todos los puntos, sin filtro). Si se
+     * indica {@code f} se aplica sobre el nivel.
+     */
+    public Blueprint getBlueprintLod(String author, String name, int level, BlueprintsFilter f) throws BlueprintNotFoundException {
+        if (level < 0 || level > lod.levels()) {
+            throw new IllegalArgumentException("El nivel de detalle debe estar entre 0 y " + lod.levels());
+        }
+        if (author == null || author.trim().isEmpty()) {
+            throw new BlueprintNotFoundException("El autor no puede estar vacío");
+        }
+        if (name == null || name.trim().isEmpty()) {
+            throw new BlueprintNotFoundException("El nombre no puede estar vacío");
+        }
+        Blueprint bp = persistence.getBlueprint(author, name);
+        Blueprint slice = level == 0 ? bp : lod.slice(bp, level);
+        return f != null ? f.apply(slice) : slice;
+    }
+
+    /**
+     * Versión del blueprint, sin leer sus puntos.
+     */
+    public long getBlueprintVersion(String author, String name) throws BlueprintNotFoundException {
+        if (author == null || author.trim().isEmpty()) {
+            throw new BlueprintNotFoundException("El autor no puede estar vacío");
+        }
+        if (name == null || name.trim().isEmpty()) {
+            throw new BlueprintNotFoundException("El nombre no puede estar vacío");
+        }
+        return persistence.getVersion(author, name);
+    }
+
+    /**
+     * Versión agregada de los blueprints de un autor: cambia si cambia cualquiera de ellos o el conjunto.
+     */
+    public long getAuthorVersion(String author) throws BlueprintNotFoundException {
+        if (author == null || author.trim().isEmpty()) {
+            throw new BlueprintNotFoundException("El autor no puede estar vacío");
+        }
+        return aggregate(persistence.getVersionsByAuthor(author));
+    }
+
+    /**
+     * Versión agregada de una página; con {@code afterAuthor} null y sin límite, de toda la colección.
+     */
+    public long getPageVersion(String afterAuthor, String afterName, int limit) {
+        return aggregate(persistence.getVersionsPage(afterAuthor, afterName, limit));
+    }
+
+    /**
+     * Versión de la colección completa sin consultar la persistencia: un contador que sube con
+     * cada escritura que pasa por este servicio, también las que fallan a medias. Empieza en un
+     * valor al azar para que otro proceso, o este tras reiniciar, no repita versiones. No ve las
+     * escrituras de otras instancias sobre la misma base.
+     */
+    public long getCollectionVersion() {
+        return writes.get();
+    }
+
+    /**
+     * Totales y resúmenes de los blueprints del autor, sin leer sus puntos.
+     */
+    public AuthorSummary getAuthorSummary(String author) throws BlueprintNotFoundException {
+        if (author == null || author.trim().isEmpty()) {
+            throw new BlueprintNotFoundException("El autor no puede estar vacío");
+        }
+        List<BlueprintSummary> items = new ArrayList<>(persistence.getSummariesByAuthor(author));
+        items.sort(Comparator.comparing(BlueprintSummary::name));
+        return new AuthorSummary(author, SummaryTotals.of(items), items);
+    }
+
+    /**
+     * Página de resúmenes como la de {@link #getBlueprintsPage}; la primera trae los totales de la colección.
+     */
+    public SummaryPage getSummaryPage(String afterAuthor, String afterName, int limit) {
+        List<BlueprintSummary> items = persistence.getSummariesPage(afterAuthor, afterName, limit);
+        SummaryTotals totals = afterAuthor == null ? persistence.getSummaryTotals() : null;
+        if (items.size() < limit) {
+            return new SummaryPage(totals, items, null);
+        }
+        BlueprintSummary last = items.get(items.size() - 1);
+        return new SummaryPage(totals, items, new PageCursor(last.author(), last.name()).encode());
+    }
+
+    private static long aggregate(List<BlueprintVersion> versions) {
+        List<BlueprintVersion> sorted = new ArrayList<>(versions);
+        sorted.sort(Comparator.comparing(BlueprintVersion::author).thenComparing(BlueprintVersion::name));
+        long h = sorted.size();
+        for (BlueprintVersion v : sorted) {
+            h = 31 * h + v.author().hashCode();
+            h = 31 * h + v.name().hashCode();
+            h = 31 * h + v.version();
+        }
+        return h;
     }
 
     public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
@@ -70,6 +490,41 @@ public class BlueprintsServices {
         if (name == null || name.trim().isEmpty()) {
             throw new BlueprintNotFoundException("El nombre no puede estar vacío");
         }
-        persistence.addPoint(author, name, x, y);
+        try {
+            persistence.addPoint(author, name, x, y);
+        } finally {
+            writes.incrementAndGet();
+        }
+        appended(author, name);
+    }
+
+    public void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException {
+        if (author == null || author.trim().isEmpty()) {
+            throw new BlueprintNotFoundException("El autor no puede estar vacío");
+        }
+        if (name == null || name.trim().isEmpty()) {
+            throw new BlueprintNotFoundException("El nombre no puede estar vacío");
+        }
+        try {
+            persistence.addPoints(author, name, points);
+        } finally {
+            writes.incrementAndGet();
+        }
+        appended(author, name);
+    }
+
+    public FilteredBlueprintCache.CacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    public SerializedBlueprintCache.CacheStats getJsonCacheStats() {
+        return jsonCache.stats();
+    }
+
+    /**
+     * Estadísticas del caché de lectura de la persistencia, o null si no está activado.
+     */
+    public CachingBlueprintPersistence.CacheStats getPersistenceCacheStats() {
+        return persistence instanceof CachingBlueprintPersistence caching ? caching.stats() : null;
     }
 }
\ No newline at end of file
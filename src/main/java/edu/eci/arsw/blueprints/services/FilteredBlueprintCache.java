@@ -0,0 +1,157 @@
+package edu.eci.arsw.blueprints.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.filters.IncrementalFilter;
+import edu.eci.arsw.blueprints.filters.IncrementalState;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PointSnapshot;
+
+/**
+ * Caché LRU acotado de blueprints ya filtrados, con llave (autor, nombre, filtro), sobre
+ * {@link VersionedBlueprintLru}. Cada entrada recuerda la versión del blueprint original: si la
+ * versión cambió la entrada se descarta y se vuelve a filtrar. El tamaño se mide en puntos.
+ *
+ * Con filtros {@link IncrementalFilter} la entrada guarda además el estado del filtro: si el
+ * blueprint solo creció, se le pasan los puntos nuevos y el resultado se actualiza sin volver a
+ * recorrer los anteriores. Por eso {@link #appended} conserva esas entradas.
+ */
+@Component
+public class FilteredBlueprintCache {
+
+    /**
+     * {@code incremental}: lecturas resueltas pasándole al estado guardado solo los puntos nuevos.
+     */
+    public record CacheStats(long hits, long misses, long incremental, long evictions, int entries,
+                             long points, long maxPoints) { }
+
+    private record Result(Blueprint filtered, IncrementalState state) { }
+
+    private record Read(String author, String name, String filter) { }
+
+    /** Llaves con más lecturas en reserva que las que se recuerdan para {@link #firstRead}. */
+    private static final int MAX_RECENT_READS = 10_000;
+
+    private final VersionedBlueprintLru<Result> entries;
+    /** Lecturas recientes por llave, en orden de uso; {@code name} es null para las de un autor. */
+    private final LinkedHashMap<Read, Boolean> recentReads = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Read, Boolean> eldest) {
+            return size() > MAX_RECENT_READS;
+        }
+    };
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder incremental = new LongAdder();
+
+    public FilteredBlueprintCache(@Value("${blueprints.cache.max-points:5000000}") long maxPoints) {
+        this.entries = new VersionedBlueprintLru<>(maxPoints, r -> r.filtered().size());
+    }
+
+    /**
+     * Retorna el resultado de aplicar {@code filter} a {@code bp}, reutilizando el resultado
+     * guardado si el blueprint no ha cambiado desde que se calculó.
+     */
+    public Blueprint apply(BlueprintsFilter filter, Blueprint bp) {
+        if (entries.maxWeight() <= 0) {
+            return filter.apply(bp);
+        }
+        long version = bp.version();
+        VersionedBlueprintLru.Entry<Result> entry = entries.get(bp.getAuthor(), bp.getName(), filter.name());
+        if (entry != null && entry.version() == version) {
+            hits.increment();
+            return entry.value().filtered();
+        }
+        if (entry != null && entry.value().state() != null && entry.version() < version) {
+            Blueprint advanced = advance(entry.value().state(), filter, bp);
+            if (advanced != null) {
+                incremental.increment();
+                return advanced;
+            }
+        }
+        misses.increment();
+        if (filter instanceof IncrementalFilter f) {
+            IncrementalState state = f.incremental(bp.getAuthor(), bp.getName());
+            if (state != null) {
+                Blueprint filtered = advance(state, filter, bp);
+                if (filtered != null) return filtered;
+            }
+        }
+        // Se filtra fuera del candado: dos hilos pueden calcular lo mismo, el último en llegar queda guardado
+        Blueprint filtered = filter.apply(bp);
+        if (filtered != bp) {
+            entries.put(bp.getAuthor(), bp.getName(), filter.name(), version, new Result(filtered, null));
+        }
+        return filtered;
+    }
+
+    /**
+     * Pasa a {@code state} los puntos de {@code bp} que le faltan y guarda el resultado. Retorna
+     * null si {@code bp} no es una continuación de lo que ya recibió el estado (p. ej. una lectura
+     * vieja de otra instancia).
+     */
+    private Blueprint advance(IncrementalState state, BlueprintsFilter filter, Blueprint bp) {
+        PointSnapshot in = bp.snapshot();
+        Blueprint filtered;
+        synchronized (state) {
+            if (in.size() < state.consumed() || in.version() != in.size()) {
+                return null;
+            }
+            state.catchUp(in);
+            filtered = state.exact() ? state.result() : null;
+        }
+        if (filtered == null) {
+            // Alguna etapa retiene puntos hasta el final (undersampling con 2 puntos): se aplica completo
+            filtered = filter.apply(bp);
+        }
+        entries.put(bp.getAuthor(), bp.getName(), filter.name(), in.version(), new Result(filtered, state));
+        return filtered;
+    }
+
+    /**
+     * true si la lectura de {@code filter} sobre el blueprint (o sobre todos los del autor si
+     * {@code name} es null) es la primera reciente y no hay resultado guardado: conviene que la
+     * persistencia filtre, porque un resultado para una sola lectura no vale lo que cuesta traer
+     * todos los puntos. Desde la segunda lectura retorna false, se traen completos y quedan en el
+     * caché para las siguientes.
+     */
+    public boolean firstRead(String author, String name, String filter) {
+        if (entries.maxWeight() <= 0) {
+            // Sin caché no hay nada que llenar: siempre conviene filtrar en la persistencia
+            return true;
+        }
+        if (name != null && entries.contains(author, name, filter)) {
+            return false;
+        }
+        synchronized (recentReads) {
+            return recentReads.put(new Read(author, name, filter), Boolean.TRUE) == null;
+        }
+    }
+
+    /**
+     * Descarta los resultados de todos los filtros para el blueprint indicado.
+     */
+    public void invalidate(String author, String name) {
+        entries.invalidate(author, name);
+    }
+
+    /**
+     * Como {@link #invalidate}, pero el blueprint solo recibió puntos nuevos: las entradas con
+     * estado incremental se conservan y se ponen al día en la siguiente lectura.
+     */
+    public void appended(String author, String name) {
+        entries.removeIf(author, name, r -> r.state() == null);
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), incremental.sum(), entries.evictions(), entries.size(),
+                entries.weight(), entries.maxWeight());
+    }
+}
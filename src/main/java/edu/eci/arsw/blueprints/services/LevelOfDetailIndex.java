@@ -0,0 +1,54 @@
+package edu.eci.arsw.blueprints.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import edu.eci.arsw.blueprints.filters.LodPyramid;
+import edu.eci.arsw.blueprints.model.Blueprint;
+
+/**
+ * Pirámides de niveles de detalle por blueprint. Se construyen la primera vez que se pide un
+ * nivel y luego solo procesan los puntos agregados desde la última lectura, así que
+ * {@code GET /{author}/{bpname}?lod=k} nunca vuelve a simplificar el trazo completo.
+ * Se conservan como máximo {@code blueprints.lod.max-blueprints} pirámides (LRU).
+ */
+@Component
+public class LevelOfDetailIndex {
+
+    private final int levels;
+    private final double baseTolerance;
+    private final Map<String, LodPyramid> pyramids;
+
+    public LevelOfDetailIndex(@Value("${blueprints.lod.levels:8}") int levels,
+                              @Value("${blueprints.lod.base-tolerance:1.0}") double baseTolerance,
+                              @Value("${blueprints.lod.max-blueprints:10000}") int maxBlueprints) {
+        this.levels = levels;
+        this.baseTolerance = baseTolerance;
+        this.pyramids = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LodPyramid> eldest) {
+                return size() > maxBlueprints;
+            }
+        };
+    }
+
+    public int levels() {
+        return levels;
+    }
+
+    /**
+     * Nivel {@code k} del blueprint, entre 1 (más detalle) y {@link #levels()}.
+     */
+    public Blueprint slice(Blueprint bp, int k) {
+        LodPyramid pyramid;
+        synchronized (pyramids) {
+            pyramid = pyramids.computeIfAbsent(bp.getAuthor() + ":" + bp.getName(),
+                    key -> new LodPyramid(levels, baseTolerance));
+        }
+        pyramid.catchUp(bp);
+        return pyramid.slice(bp, k);
+    }
+}
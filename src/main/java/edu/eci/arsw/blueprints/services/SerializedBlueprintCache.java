@@ -0,0 +1,61 @@
+package edu.eci.arsw.blueprints.services;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+
+/**
+ * Caché LRU del JSON ya serializado de cada blueprint filtrado, con llave (autor, nombre, filtro).
+ * Igual que {@link FilteredBlueprintCache} se apoya en {@link VersionedBlueprintLru} y valida la
+ * versión del blueprint en cada lectura; el tamaño se mide en bytes de JSON. Los endpoints arman
+ * sus respuestas concatenando estos fragmentos, sin volver a pasar los puntos por Jackson.
+ */
+@Component
+public class SerializedBlueprintCache {
+
+    public record CacheStats(long hits, long misses, long evictions, int entries, long bytes, long maxBytes) { }
+
+    private final VersionedBlueprintLru<byte[]> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SerializedBlueprintCache(@Value("${blueprints.cache.max-json-bytes:134217728}") long maxBytes) {
+        this.entries = new VersionedBlueprintLru<>(maxBytes, json -> json.length);
+    }
+
+    /**
+     * JSON de {@code bp} filtrado con {@code filter}; si no está guardado para la versión actual
+     * se genera con {@code render} (que recibe el blueprint original).
+     */
+    public byte[] get(BlueprintsFilter filter, Blueprint bp, Function<Blueprint, byte[]> render) {
+        if (entries.maxWeight() <= 0) {
+            return render.apply(bp);
+        }
+        // La versión se lee antes de generar: si llega un punto a mitad de camino la entrada queda vieja y se descarta
+        long version = bp.version();
+        VersionedBlueprintLru.Entry<byte[]> entry = entries.get(bp.getAuthor(), bp.getName(), filter.name());
+        if (entry != null && entry.version() == version) {
+            hits.increment();
+            return entry.value();
+        }
+        misses.increment();
+        byte[] json = render.apply(bp);
+        entries.put(bp.getAuthor(), bp.getName(), filter.name(), version, json);
+        return json;
+    }
+
+    public void invalidate(String author, String name) {
+        entries.invalidate(author, name);
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), entries.evictions(), entries.size(), entries.weight(),
+                entries.maxWeight());
+    }
+}
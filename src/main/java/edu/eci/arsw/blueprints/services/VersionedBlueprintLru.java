@@ -0,0 +1,128 @@
+package edu.eci.arsw.blueprints.services;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+import edu.eci.arsw.blueprints.persistence.BlueprintKey;
+
+/**
+ * LRU con llave (autor, nombre, filtro) en el que cada entrada recuerda la versión del blueprint
+ * del que salió. El tamaño se mide con {@code weigher} (puntos, bytes) y no en entradas, para que
+ * pocos blueprints grandes no ocupen toda la memoria. Base de {@link FilteredBlueprintCache} y
+ * {@link SerializedBlueprintCache}, que deciden qué guardar y cuándo una entrada sigue sirviendo.
+ */
+final class VersionedBlueprintLru<V> {
+
+    record Entry<V>(long version, V value) { }
+
+    private record Key(String author, String name, String filter) { }
+
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<Key, Entry<V>> entries = new LinkedHashMap<>(256, 0.75f, true);
+    /** Filtros con entrada guardada por blueprint, para invalidar sin recorrer todos los filtros vistos. */
+    private final Map<BlueprintKey, Set<String>> filtersByBlueprint = new HashMap<>();
+    private long weight;
+    private final LongAdder evictions = new LongAdder();
+
+    VersionedBlueprintLru(long maxWeight, ToLongFunction<V> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    long maxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Entrada guardada, de cualquier versión, o null; cuenta como uso para el LRU.
+     */
+    synchronized Entry<V> get(String author, String name, String filter) {
+        return entries.get(new Key(author, name, filter));
+    }
+
+    synchronized boolean contains(String author, String name, String filter) {
+        return entries.containsKey(new Key(author, name, filter));
+    }
+
+    /**
+     * Guarda {@code value} para {@code version} salvo que pese más que todo el caché o que ya haya
+     * una entrada más nueva (otro hilo llegó antes con una lectura posterior). Descarta las entradas
+     * menos usadas hasta volver al límite.
+     */
+    synchronized void put(String author, String name, String filter, long version, V value) {
+        long w = weigher.applyAsLong(value);
+        if (w > maxWeight) return;
+        Key key = new Key(author, name, filter);
+        Entry<V> previous = entries.get(key);
+        if (previous != null && previous.version() > version) return;
+        filtersByBlueprint.computeIfAbsent(new BlueprintKey(author, name), k -> new HashSet<>()).add(filter);
+        entries.put(key, new Entry<>(version, value));
+        if (previous != null) weight -= weigher.applyAsLong(previous.value());
+        weight += w;
+        Iterator<Map.Entry<Key, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            Map.Entry<Key, Entry<V>> evicted = eldest.next();
+            eldest.remove();
+            unindex(evicted.getKey());
+            weight -= weigher.applyAsLong(evicted.getValue().value());
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Descarta las entradas de todos los filtros para el blueprint indicado.
+     */
+    synchronized void invalidate(String author, String name) {
+        removeIf(author, name, v -> true);
+    }
+
+    /**
+     * Descarta las entradas del blueprint cuyo valor cumple {@code drop}.
+     */
+    synchronized void removeIf(String author, String name, Predicate<V> drop) {
+        BlueprintKey bp = new BlueprintKey(author, name);
+        Set<String> filters = filtersByBlueprint.get(bp);
+        if (filters == null) return;
+        Iterator<String> it = filters.iterator();
+        while (it.hasNext()) {
+            Key key = new Key(author, name, it.next());
+            Entry<V> entry = entries.get(key);
+            if (entry == null || drop.test(entry.value())) {
+                if (entry != null) {
+                    entries.remove(key);
+                    weight -= weigher.applyAsLong(entry.value());
+                }
+                it.remove();
+            }
+        }
+        if (filters.isEmpty()) filtersByBlueprint.remove(bp);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long weight() {
+        return weight;
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    private void unindex(Key key) {
+        BlueprintKey bp = new BlueprintKey(key.author(), key.name());
+        Set<String> filters = filtersByBlueprint.get(bp);
+        if (filters != null && filters.remove(key.filter()) && filters.isEmpty()) {
+            filtersByBlueprint.remove(bp);
+        }
+    }
+}
@@ -3,4 +3,79 @@ CREATE TABLE IF NOT EXISTS blueprint (
     name VARCHAR(255) NOT NULL,
     points JSONB NOT NULL,
     PRIMARY KEY (author, name)
-);
\ No newline at end of file
+);
+
+-- Registro de solo agregado para los puntos nuevos (blueprints.postgres.point-log.enabled=true).
+-- Las lecturas lo concatenan con blueprint.points y una tarea periódica lo compacta en él.
+CREATE TABLE IF NOT EXISTS blueprint_point (
+    seq BIGINT GENERATED ALWAYS AS IDENTITY,
+    author VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    x INTEGER NOT NULL,
+    y INTEGER NOT NULL,
+    PRIMARY KEY (author, name, seq),
+    FOREIGN KEY (author, name) REFERENCES blueprint (author, name) ON DELETE CASCADE
+);
+
+-- Para que la compactación encuentre los puntos más antiguos sin recorrer la tabla
+CREATE INDEX IF NOT EXISTS blueprint_point_seq ON blueprint_point (seq);
+
+-- Formato binario (blueprints.postgres.point-format=binary): puntos codificados con PointCodec
+-- (delta + zigzag + varint). Mientras se migra, cada fila tiene points o points_bin.
+ALTER TABLE blueprint ADD COLUMN IF NOT EXISTS points_bin BYTEA;
+ALTER TABLE blueprint ALTER COLUMN points DROP NOT NULL;
+
+-- Caja envolvente de los puntos para GET /api/v1/blueprints/search; NULL si el blueprint no tiene puntos.
+-- Las escrituras la amplían con LEAST/GREATEST, sin leer los puntos.
+ALTER TABLE blueprint ADD COLUMN IF NOT EXISTS min_x INTEGER;
+ALTER TABLE blueprint ADD COLUMN IF NOT EXISTS min_y INTEGER;
+ALTER TABLE blueprint ADD COLUMN IF NOT EXISTS max_x INTEGER;
+ALTER TABLE blueprint ADD COLUMN IF NOT EXISTS max_y INTEGER;
+
+-- Filas anteriores a las columnas: en JSONB (y el registro de puntos) la caja se calcula aquí.
+UPDATE blueprint b SET min_x = c.min_x, min_y = c.min_y, max_x = c.max_x, max_y = c.max_y
+FROM (
+    SELECT author, name, min(x) AS min_x, min(y) AS min_y, max(x) AS max_x, max(y) AS max_y
+    FROM (
+        SELECT author, name, (e->>'x')::int AS x, (e->>'y')::int AS y
+        FROM blueprint, jsonb_array_elements(points) AS e
+        WHERE min_x IS NULL AND points IS NOT NULL
+        UNION ALL
+        SELECT p.author, p.name, p.x, p.y
+        FROM blueprint_point p JOIN blueprint o ON o.author = p.author AND o.name = p.name
+        WHERE o.min_x IS NULL
+    ) pts
+    GROUP BY author, name
+) c
+WHERE b.author = c.author AND b.name = c.name AND b.min_x IS NULL;
+
+-- En binario PostgreSQL no decodifica points_bin: la fila recibe la caja de todo el rango int
+-- (siempre candidata) y la tarea backfillBinaryBoxes la recalcula en Java.
+-- Un points_bin solo con bytes 0 son bloques vacíos, es decir, sin puntos.
+UPDATE blueprint SET min_x = -2147483648, min_y = -2147483648, max_x = 2147483647, max_y = 2147483647
+WHERE min_x IS NULL AND points_bin IS NOT NULL AND trim('\x00'::bytea FROM points_bin) <> ''::bytea;
+
+CREATE INDEX IF NOT EXISTS blueprint_bbox ON blueprint
+    USING gist (box(point(min_x, min_y), point(max_x, max_y)));
+
+-- Resumen para GET /api/v1/blueprints/{author}/summary y las versiones: cantidad de puntos y suma
+-- de sus coordenadas (centroide = suma / cantidad). Las escrituras los suman sin leer los puntos.
+ALTER TABLE blueprint ADD COLUMN IF NOT EXISTS point_count BIGINT;
+ALTER TABLE blueprint ADD COLUMN IF NOT EXISTS sum_x BIGINT;
+ALTER TABLE blueprint ADD COLUMN IF NOT EXISTS sum_y BIGINT;
+
+-- Filas anteriores a las columnas con puntos en JSONB (más los del registro); las binarias las
+-- completa la tarea backfillBinarySummaries en Java.
+UPDATE blueprint b SET point_count = c.n, sum_x = c.sx, sum_y = c.sy
+FROM (
+    SELECT o.author, o.name, count(pts.x) AS n, COALESCE(sum(pts.x), 0) AS sx, COALESCE(sum(pts.y), 0) AS sy
+    FROM blueprint o
+    LEFT JOIN LATERAL (
+        SELECT (e->>'x')::bigint AS x, (e->>'y')::bigint AS y FROM jsonb_array_elements(o.points) AS e
+        UNION ALL
+        SELECT p.x, p.y FROM blueprint_point p WHERE p.author = o.author AND p.name = o.name
+    ) pts ON true
+    WHERE o.point_count IS NULL AND o.points IS NOT NULL
+    GROUP BY o.author, o.name
+) c
+WHERE b.author = c.author AND b.name = c.name AND b.point_count IS NULL;
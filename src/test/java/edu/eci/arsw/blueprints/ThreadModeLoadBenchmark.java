@@ -0,0 +1,125 @@
+package edu.eci.arsw.blueprints;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Prueba de carga: levanta la aplicación con el perfil postgres dos veces, primero con el pool
+ * de hilos de Tomcat y luego con spring.threads.virtual.enabled=true, y en cada una mantiene
+ * CLIENTS clientes en lazo cerrado (90% GET de un blueprint, 10% PUT de un punto) durante
+ * DURATION_MS. Reporta peticiones/s, p50, p99 y respuestas 503 del limitador.
+ * Requiere la base de datos de application.properties. No corre con los tests; ejecutar su main
+ * (argumentos opcionales: clientes, duración en ms).
+ */
+public class ThreadModeLoadBenchmark {
+
+    private static final int BLUEPRINTS = 200;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        long durationMs = args.length > 1 ? Long.parseLong(args[1]) : 20_000;
+        for (boolean virtual : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(BlueprintsApplication.class)
+                    .properties("server.port=0", "debug=false", "spring.threads.virtual.enabled=" + virtual)
+                    .profiles("postgres", "identity")
+                    .run()) {
+                String base = "http://localhost:" + ctx.getEnvironment().getProperty("local.server.port") + "/api/v1/blueprints";
+                seed(base);
+                String label = virtual ? "virtual threads" : "platform threads";
+                run(label + " (warmup)", base, clients, durationMs / 4);
+                run(label, base, clients, durationMs);
+            }
+        }
+    }
+
+    private static HttpClient client() {
+        return HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    // Crea los blueprints de la prueba; los que ya existen responden 409 y se ignoran
+    private static void seed(String base) throws Exception {
+        HttpClient http = client();
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < BLUEPRINTS; i++) {
+            if (i > 0) batch.append(',');
+            batch.append("{\"author\":\"load\",\"name\":\"bp").append(i).append("\",\"points\":[");
+            for (int p = 0; p < 100; p++) {
+                if (p > 0) batch.append(',');
+                batch.append("{\"x\":").append(p).append(",\"y\":").append(p * 2).append('}');
+            }
+            batch.append("]}");
+        }
+        batch.append(']');
+        http.send(HttpRequest.newBuilder(URI.create(base + "/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(batch.toString())).build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static void run(String label, String base, int clients, long durationMs) throws Exception {
+        HttpClient http = client();
+        LongAdder busy = new LongAdder();
+        LongAdder errors = new LongAdder();
+        List<long[]> latencies = new ArrayList<>();
+        long deadline = System.nanoTime() + durationMs * 1_000_000;
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                long[] samples = new long[1 << 12];
+                latencies.add(samples);
+                clientThreads.submit(() -> {
+                    int n = 0;
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        String bp = base + "/load/bp" + random.nextInt(BLUEPRINTS);
+                        HttpRequest request = random.nextInt(10) == 0
+                                ? HttpRequest.newBuilder(URI.create(bp + "/points"))
+                                        .header("Content-Type", "application/json")
+                                        .PUT(HttpRequest.BodyPublishers.ofString("{\"x\":1,\"y\":2}")).build()
+                                : HttpRequest.newBuilder(URI.create(bp)).GET().build();
+                        long t0 = System.nanoTime();
+                        try {
+                            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status == 503) busy.increment();
+                            else if (status >= 400) errors.increment();
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        if (n < samples.length) samples[n] = System.nanoTime() - t0;
+                        n++;
+                    }
+                    samples[samples.length - 1] = n;
+                    return null;
+                });
+            }
+        }
+        long total = 0;
+        List<Long> all = new ArrayList<>();
+        for (long[] samples : latencies) {
+            int n = (int) samples[samples.length - 1];
+            total += n;
+            for (int i = 0; i < Math.min(n, samples.length - 1); i++) all.add(samples[i]);
+        }
+        long[] sorted = all.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        System.out.printf("%-25s clients=%d: %,.0f req/s, p50 %.1f ms, p99 %.1f ms, 503=%d, errors=%d%n",
+                label, clients, total * 1000.0 / durationMs,
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6, busy.sum(), errors.sum());
+    }
+
+    private static long percentile(long[] sorted, double q) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.round(q * (sorted.length - 1)))];
+    }
+}
@@ -0,0 +1,83 @@
+package edu.eci.arsw.blueprints.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+
+class BlueprintBinaryCodecTest {
+
+    @Test
+    void roundTripsSeveralBlueprints() {
+        List<Blueprint> blueprints = List.of(
+                new Blueprint("josé", "casa ñ", List.of(new Point(1, 2), new Point(-300, 40_000))),
+                new Blueprint("ana", "vacío", List.of()),
+                new Blueprint("ana", "grande", List.of(new Point(Integer.MIN_VALUE, Integer.MAX_VALUE))));
+
+        List<Blueprint> decoded = BlueprintBinaryCodec.decode(BlueprintBinaryCodec.encode(blueprints));
+
+        assertEquals(blueprints.size(), decoded.size());
+        for (int i = 0; i < blueprints.size(); i++) {
+            assertEquals(blueprints.get(i).getAuthor(), decoded.get(i).getAuthor());
+            assertEquals(blueprints.get(i).getName(), decoded.get(i).getName());
+            assertArrayEquals(blueprints.get(i).snapshot().toArray(), decoded.get(i).snapshot().toArray());
+        }
+    }
+
+    @Test
+    void rejectsForeignOrTruncatedData() {
+        byte[] data = BlueprintBinaryCodec.encode(List.of(new Blueprint("a", "b", List.of(new Point(1, 1)))));
+
+        assertThrows(IllegalArgumentException.class, () -> BlueprintBinaryCodec.decode("{\"code\":200}".getBytes()));
+        assertThrows(IllegalArgumentException.class, () -> BlueprintBinaryCodec.decode(Arrays.copyOf(data, data.length - 2)));
+    }
+
+    @Test
+    void rejectsHostileBlueprintCounts() {
+        // "BPB1" y una cantidad de 2^28 blueprints sin ningún registro detrás
+        byte[] data = {'B', 'P', 'B', '1', (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01};
+        assertThrows(IllegalArgumentException.class, () -> BlueprintBinaryCodec.decode(data));
+    }
+
+    @Test
+    void streamRoundTripsUntilEndOfInput() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BlueprintBinaryCodec.StreamWriter writer = new BlueprintBinaryCodec.StreamWriter(out);
+        writer.write(new Blueprint("josé", "casa", List.of(new Point(1, 2), new Point(-3, 4))));
+        writer.write(new Blueprint("ana", "vacío", List.of()));
+        byte[] data = out.toByteArray();
+
+        BlueprintBinaryCodec.StreamReader reader = new BlueprintBinaryCodec.StreamReader(new ByteArrayInputStream(data));
+        Blueprint first = reader.read();
+        assertEquals("casa", first.getName());
+        assertArrayEquals(new int[] {1, 2, -3, 4}, first.snapshot().toArray());
+        assertEquals(0, reader.read().snapshot().size());
+        assertNull(reader.read());
+
+        BlueprintBinaryCodec.StreamReader truncated =
+                new BlueprintBinaryCodec.StreamReader(new ByteArrayInputStream(Arrays.copyOf(data, data.length - 3)));
+        truncated.read();
+        assertThrows(IllegalArgumentException.class, truncated::read);
+        assertThrows(IllegalArgumentException.class,
+                () -> new BlueprintBinaryCodec.StreamReader(new ByteArrayInputStream(BlueprintBinaryCodec.encode(List.of()))));
+    }
+
+    @Test
+    void streamRejectsHostilePointCounts() throws Exception {
+        // "BPS1", autor "a", nombre "b" y un campo de puntos de 5 bytes que declara 2^28 puntos
+        byte[] data = {'B', 'P', 'S', '1', 1, 'a', 1, 'b', 5, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01};
+        BlueprintBinaryCodec.StreamReader reader = new BlueprintBinaryCodec.StreamReader(new ByteArrayInputStream(data));
+
+        assertThrows(IllegalArgumentException.class, reader::read);
+    }
+}
@@ -0,0 +1,69 @@
+package edu.eci.arsw.blueprints.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+
+/**
+ * Compara el formato JSONB actual contra PointCodec: bytes almacenados por blueprint y filas
+ * por segundo decodificadas con el mismo trabajo que hace el RowMapper de PostgreSQL.
+ * No corre con los tests; ejecutar su main.
+ */
+public class PointCodecBenchmark {
+
+    private static final int ROWS = 2_000;
+    private static final int POINTS_PER_ROW = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        Random random = new Random(42);
+        List<String> jsonRows = new ArrayList<>(ROWS);
+        List<byte[]> binRows = new ArrayList<>(ROWS);
+        long jsonBytes = 0;
+        long binBytes = 0;
+        for (int r = 0; r < ROWS; r++) {
+            // Trazo tipo plano: coordenadas grandes, pasos pequeños entre puntos consecutivos
+            List<Point> pts = new ArrayList<>(POINTS_PER_ROW);
+            int x = random.nextInt(100_000);
+            int y = random.nextInt(100_000);
+            for (int i = 0; i < POINTS_PER_ROW; i++) {
+                x += random.nextInt(41) - 20;
+                y += random.nextInt(41) - 20;
+                pts.add(new Point(x, y));
+            }
+            String json = mapper.writeValueAsString(pts);
+            byte[] bin = PointCodec.encode(pts);
+            jsonRows.add(json);
+            binRows.add(bin);
+            jsonBytes += json.getBytes(StandardCharsets.UTF_8).length;
+            binBytes += bin.length;
+        }
+        System.out.printf("bytes/row: json %,d  binary %,d  (x%.1f)%n",
+                jsonBytes / ROWS, binBytes / ROWS, (double) jsonBytes / binBytes);
+
+        TypeReference<List<Point>> type = new TypeReference<>() {};
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            long sink = 0;
+            for (String json : jsonRows) {
+                sink += new Blueprint("a", "b", mapper.readValue(json, type)).size();
+            }
+            double jsonRate = ROWS / ((System.nanoTime() - t0) / 1e9);
+
+            t0 = System.nanoTime();
+            for (byte[] bin : binRows) {
+                sink += new Blueprint("a", "b", PointCodec.decode(bin)).size();
+            }
+            double binRate = ROWS / ((System.nanoTime() - t0) / 1e9);
+            System.out.printf("round %d: rows/s json %,.0f  binary %,.0f  (x%.1f) [%d]%n",
+                    round, jsonRate, binRate, binRate / jsonRate, sink);
+        }
+    }
+}
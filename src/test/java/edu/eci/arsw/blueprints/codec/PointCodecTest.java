@@ -0,0 +1,84 @@
+package edu.eci.arsw.blueprints.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+
+class PointCodecTest {
+
+    @Test
+    void roundTripsExtremeValues() {
+        List<Point> pts = List.of(new Point(0, 0), new Point(Integer.MAX_VALUE, Integer.MIN_VALUE),
+                new Point(Integer.MIN_VALUE, Integer.MAX_VALUE), new Point(-1, 1), new Point(-1, 1));
+
+        PointBuffer decoded = PointCodec.decode(PointCodec.encode(pts));
+
+        assertEquals(pts, decoded.asList());
+    }
+
+    @Test
+    void concatenatedBlocksDecodeAsOneSequence() {
+        byte[] first = PointCodec.encode(List.of(new Point(10, 10), new Point(11, 12)));
+        byte[] second = PointCodec.encode(List.of(new Point(13, 14)));
+        byte[] joined = new byte[first.length + second.length];
+        System.arraycopy(first, 0, joined, 0, first.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+
+        assertArrayEquals(new int[] {10, 10, 11, 12, 13, 14}, PointCodec.decode(joined).toArray());
+        assertEquals(3, PointCodec.count(joined));
+    }
+
+    @Test
+    void smallDeltasUseOneBytePerCoordinate() {
+        PointBuffer buffer = new PointBuffer();
+        for (int i = 0; i < 100; i++) buffer.add(i, i);
+
+        // 1 byte de cantidad + 2 bytes por punto
+        assertEquals(1 + 200, PointCodec.encode(buffer.snapshot()).length);
+    }
+
+    @Test
+    void rejectsTruncatedData() {
+        byte[] data = PointCodec.encode(List.of(new Point(1000, 1000)));
+        byte[] truncated = Arrays.copyOf(data, data.length - 1);
+        assertThrows(IllegalArgumentException.class, () -> PointCodec.decode(truncated));
+    }
+
+    @Test
+    void manySinglePointBlocksDecodeInOnePass() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < 100_000; i++) {
+            out.writeBytes(PointCodec.encode(List.of(new Point(i, -i))));
+        }
+        byte[] data = out.toByteArray();
+
+        PointBuffer decoded = PointCodec.decode(data);
+
+        assertEquals(100_000, decoded.size());
+        assertEquals(99_999, decoded.x(99_999));
+        assertEquals(-99_999, decoded.y(99_999));
+    }
+
+    @Test
+    void rejectsBlockCountsLargerThanTheData() {
+        // Bloque que declara 2^28 puntos en cuatro bytes de datos
+        byte[] huge = {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01, 0, 0, 0, 0};
+        assertThrows(IllegalArgumentException.class, () -> PointCodec.decode(huge));
+        // 2^31 - 1 puntos: (count + n) << 1 desbordaría
+        byte[] overflow = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0, 0};
+        assertThrows(IllegalArgumentException.class, () -> PointCodec.decode(overflow));
+
+        // El rango [from, to) manda aunque el arreglo siga
+        byte[] data = PointCodec.encode(List.of(new Point(1000, 1000)));
+        assertThrows(IllegalArgumentException.class, () -> PointCodec.decode(data, 0, data.length - 1));
+    }
+}
@@ -0,0 +1,70 @@
+package edu.eci.arsw.blueprints.codec;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.eci.arsw.blueprints.dto.ApiResponse;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+
+/**
+ * Compara la respuesta JSON de GET /api/v1/blueprints ({@code ApiResponse<Set<Blueprint>>})
+ * con el formato binario: bytes de la respuesta y tiempo de codificar y de decodificar
+ * (el cliente JSON lee el árbol completo, como haría un cliente genérico).
+ * No corre con los tests; ejecutar su main.
+ */
+public class ResponseFormatBenchmark {
+
+    private static final int BLUEPRINTS = 100;
+    private static final int POINTS = 10_000;
+    private static final int REPS = 20;
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        Random random = new Random(7);
+        Set<Blueprint> set = new HashSet<>();
+        for (int b = 0; b < BLUEPRINTS; b++) {
+            // Trazo tipo plano: coordenadas grandes, pasos pequeños
+            PointBuffer buffer = new PointBuffer();
+            int x = random.nextInt(100_000);
+            int y = random.nextInt(100_000);
+            for (int i = 0; i < POINTS; i++) {
+                x += random.nextInt(41) - 20;
+                y += random.nextInt(41) - 20;
+                buffer.add(x, y);
+            }
+            set.add(new Blueprint("author" + (b % 10), "bp" + b, buffer));
+        }
+        ApiResponse<Set<Blueprint>> response = ApiResponse.success(set);
+
+        byte[] json = mapper.writeValueAsBytes(response);
+        byte[] bin = BlueprintBinaryCodec.encode(set);
+        System.out.printf("response bytes: json %,d  binary %,d  (x%.1f)%n", json.length, bin.length, (double) json.length / bin.length);
+
+        for (int round = 0; round < 5; round++) {
+            long sink = 0;
+            long t0 = System.nanoTime();
+            for (int i = 0; i < REPS; i++) sink += mapper.writeValueAsBytes(response).length;
+            long t1 = System.nanoTime();
+            for (int i = 0; i < REPS; i++) sink += BlueprintBinaryCodec.encode(set).length;
+            long t2 = System.nanoTime();
+            for (int i = 0; i < REPS; i++) {
+                JsonNode tree = mapper.readTree(json);
+                sink += tree.get("data").size();
+            }
+            long t3 = System.nanoTime();
+            for (int i = 0; i < REPS; i++) {
+                List<Blueprint> decoded = BlueprintBinaryCodec.decode(bin);
+                sink += decoded.size();
+            }
+            long t4 = System.nanoTime();
+            System.out.printf("round %d: encode json %.1f ms  binary %.1f ms | decode json %.1f ms  binary %.1f ms [%d]%n",
+                    round, (t1 - t0) / 1e6 / REPS, (t2 - t1) / 1e6 / REPS, (t3 - t2) / 1e6 / REPS, (t4 - t3) / 1e6 / REPS, sink);
+        }
+    }
+}
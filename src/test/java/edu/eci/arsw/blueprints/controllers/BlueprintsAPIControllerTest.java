@@ -0,0 +1,160 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.eci.arsw.blueprints.codec.BlueprintBinaryCodec;
+import edu.eci.arsw.blueprints.dto.ApiResponse;
+import edu.eci.arsw.blueprints.dto.PageCursor;
+import edu.eci.arsw.blueprints.dto.SummaryPage;
+import edu.eci.arsw.blueprints.filters.FilterPipelineFactory;
+import edu.eci.arsw.blueprints.filters.IdentityFilter;
+import edu.eci.arsw.blueprints.metrics.FilterMetrics;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import edu.eci.arsw.blueprints.services.BlueprintUpdateHub;
+import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import edu.eci.arsw.blueprints.services.FilteredBlueprintCache;
+import edu.eci.arsw.blueprints.services.LevelOfDetailIndex;
+import edu.eci.arsw.blueprints.services.SerializedBlueprintCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BlueprintsAPIControllerTest {
+
+    private static final String BINARY = BlueprintBinaryCodec.MEDIA_TYPE;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+    private final BlueprintUpdateHub updates = new BlueprintUpdateHub(persistence, mapper, 500);
+    private final BlueprintsAPIController controller = new BlueprintsAPIController(
+            new BlueprintsServices(persistence, new IdentityFilter(), new FilteredBlueprintCache(1_000_000),
+                    new FilterPipelineFactory(), new LevelOfDetailIndex(4, 1.0, 100),
+                    new FilterMetrics(new SimpleMeterRegistry()), new SerializedBlueprintCache(1 << 20), updates, mapper),
+            mapper);
+
+    @AfterEach
+    void close() {
+        updates.close();
+    }
+
+    private static String body(ResponseEntity<?> response) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingResponseBody) response.getBody()).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Con el cursor viejo "autor:nombre" el de a:b/c se leía como autor "a" y nombre "b:c", y la
+     * página siguiente volvía a empezar antes de a:b/c.
+     */
+    private void saveAmbiguousNames() throws Exception {
+        persistence.saveBlueprint(new Blueprint("a:b", "c", List.of(new Point(1, 1))));
+        persistence.saveBlueprint(new Blueprint("a:b", "d", List.of(new Point(2, 2))));
+    }
+
+    @Test
+    void pagesCoverTheCollectionOnceEvenWithSeparatorsInNames() throws Exception {
+        saveAmbiguousNames();
+        long total = persistence.storageStats().blueprints();
+
+        List<String> seen = new ArrayList<>();
+        String after = null;
+        do {
+            ResponseEntity<?> response = controller.getAll(after, 1, null, null, null);
+            assertEquals(200, response.getStatusCode().value());
+            JsonNode data = mapper.readTree(body(response)).get("data");
+            for (JsonNode bp : data.get("items")) {
+                seen.add(bp.get("author").asText() + "\0" + bp.get("name").asText());
+            }
+            after = data.has("next") ? data.get("next").asText() : null;
+        } while (after != null);
+
+        assertEquals(total, seen.size());
+        assertEquals(total, new HashSet<>(seen).size());
+        assertTrue(seen.contains("a:b\0c"));
+        assertTrue(seen.contains("a:b\0d"));
+    }
+
+    @Test
+    void summaryPagesUseTheSameCursor() throws Exception {
+        saveAmbiguousNames();
+        Set<String> seen = new HashSet<>();
+        String after = null;
+        do {
+            ResponseEntity<?> response = controller.summary(after, 1);
+            SummaryPage page = (SummaryPage) ((ApiResponse<?>) response.getBody()).data();
+            page.items().forEach(s -> seen.add(s.author() + "\0" + s.name()));
+            after = page.next();
+        } while (after != null);
+
+        assertEquals(persistence.storageStats().blueprints(), seen.size());
+    }
+
+    @Test
+    void rejectsCursorsThatWereNotIssued() {
+        assertEquals(400, controller.getAll("john:house", 2, null, null, null).getStatusCode().value());
+        assertEquals(400, controller.getAll("!!", 2, null, null, null).getStatusCode().value());
+        assertEquals(400, controller.summary(new PageCursor("", "x").encode(), 2).getStatusCode().value());
+    }
+
+    @Test
+    void streamWritesOneBlueprintPerLine() throws Exception {
+        saveAmbiguousNames();
+
+        ResponseEntity<?> response = controller.streamAll(null);
+        String[] lines = body(response).split("\n");
+
+        assertEquals(persistence.storageStats().blueprints(), lines.length);
+        Set<String> names = new HashSet<>();
+        for (String line : lines) {
+            JsonNode bp = mapper.readTree(line);
+            names.add(bp.get("author").asText() + "\0" + bp.get("name").asText());
+        }
+        assertEquals(lines.length, names.size());
+        assertNull(mapper.readTree(lines[0]).get("data"));
+    }
+
+    @Test
+    void collectionEtagChangesWithEveryWrite() throws Exception {
+        saveAmbiguousNames();
+        String before = controller.getAll(null, null, null, null, null).getHeaders().getETag();
+        assertEquals(304, controller.getAll(null, null, null, before, null).getStatusCode().value());
+
+        controller.addPoint("a:b", "c", new Point(3, 3));
+
+        ResponseEntity<?> after = controller.getAll(null, null, null, before, null);
+        assertEquals(200, after.getStatusCode().value());
+        assertFalse(before.equals(after.getHeaders().getETag()));
+    }
+
+    @Test
+    void binaryOnlyWhenPreferredOverJson() {
+        assertTrue(BlueprintsAPIController.wantsBinary(BINARY));
+        assertTrue(BlueprintsAPIController.wantsBinary(BINARY + ", application/json;q=0.5"));
+        assertTrue(BlueprintsAPIController.wantsBinary("application/json;q=0.5, " + BINARY));
+        assertTrue(BlueprintsAPIController.wantsBinary(BINARY + ", */*"));
+
+        assertFalse(BlueprintsAPIController.wantsBinary(null));
+        assertFalse(BlueprintsAPIController.wantsBinary("*/*"));
+        assertFalse(BlueprintsAPIController.wantsBinary("application/json, " + BINARY + ";q=0.5"));
+        assertFalse(BlueprintsAPIController.wantsBinary(BINARY + ";q=0"));
+    }
+}
@@ -0,0 +1,58 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.eci.arsw.blueprints.dto.ApiResponse;
+import edu.eci.arsw.blueprints.dto.BlueprintPage;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+
+class JsonFragmentsTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<Blueprint> blueprints = List.of(
+            new Blueprint("ana", "casa", List.of(new Point(1, 2), new Point(-3, 4))),
+            new Blueprint("ana", "patio \"norte\"", List.of(new Point(0, 0))));
+
+    private List<byte[]> fragments() throws Exception {
+        List<byte[]> out = new ArrayList<>();
+        for (Blueprint bp : blueprints) out.add(mapper.writeValueAsBytes(bp));
+        return out;
+    }
+
+    @Test
+    void singleMatchesJackson() throws Exception {
+        byte[] expected = mapper.writeValueAsBytes(ApiResponse.success(blueprints.get(0)));
+        assertEquals(new String(expected, StandardCharsets.UTF_8),
+                new String(JsonFragments.single(fragments().get(0)), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void listMatchesJackson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonFragments.writeList(out, fragments());
+        assertEquals(mapper.writeValueAsString(ApiResponse.success(blueprints)), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void pageMatchesJacksonWithAndWithoutCursor() throws Exception {
+        BlueprintPage full = BlueprintPage.of(blueprints, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonFragments.writePage(out, fragments(), mapper.writeValueAsBytes(full.next()));
+        assertEquals(mapper.writeValueAsString(ApiResponse.success(full)), out.toString(StandardCharsets.UTF_8));
+
+        BlueprintPage last = BlueprintPage.of(blueprints, 3);
+        out.reset();
+        JsonFragments.writePage(out, fragments(), null);
+        assertEquals(mapper.writeValueAsString(ApiResponse.success(last)), out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,103 @@
+package edu.eci.arsw.blueprints.filters;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+
+class FilterPipelineTest {
+
+    private final FilterPipelineFactory factory = new FilterPipelineFactory();
+
+    @Test
+    void fusedPassMatchesSequentialApplication() {
+        Random random = new Random(7);
+        List<List<BlueprintsFilter>> chains = List.of(
+                List.of(new RedundancyFilter(), new UndersamplingFilter()),
+                List.of(new UndersamplingFilter(), new RedundancyFilter()),
+                List.of(new UndersamplingFilter(), new UndersamplingFilter(), new IdentityFilter()));
+        for (int n = 0; n < 40; n++) {
+            PointBuffer buffer = new PointBuffer();
+            // Coordenadas pequeñas para que aparezcan duplicados consecutivos
+            for (int i = 0; i < n; i++) buffer.add(random.nextInt(2), random.nextInt(2));
+            Blueprint bp = new Blueprint("a", "b", buffer);
+
+            for (List<BlueprintsFilter> chain : chains) {
+                Blueprint expected = bp;
+                for (BlueprintsFilter f : chain) expected = f.apply(expected);
+
+                Blueprint fused = new FilterPipeline(chain).apply(bp);
+                assertArrayEquals(expected.snapshot().toArray(), fused.snapshot().toArray(), "n=" + n);
+            }
+        }
+    }
+
+    @Test
+    void incrementalStateMatchesFullApplicationAfterEveryAppend() {
+        Random random = new Random(11);
+        List<IncrementalFilter> filters = List.of(
+                new RedundancyFilter(),
+                new UndersamplingFilter(),
+                new FilterPipeline(List.of(new RedundancyFilter(), new UndersamplingFilter())),
+                new FilterPipeline(List.of(new UndersamplingFilter(), new RedundancyFilter())));
+        for (IncrementalFilter filter : filters) {
+            PointBuffer buffer = new PointBuffer();
+            Blueprint bp = new Blueprint("a", "b", buffer);
+            IncrementalState state = filter.incremental("a", "b");
+            for (int n = 1; n <= 60; n++) {
+                buffer.add(random.nextInt(2), random.nextInt(2));
+                state.catchUp(bp.snapshot());
+                Blueprint expected = filter.apply(bp);
+                if (state.exact()) {
+                    assertArrayEquals(expected.snapshot().toArray(), state.result().snapshot().toArray(),
+                            filter.name() + " n=" + n);
+                } else {
+                    // Solo undersampling con exactamente 2 puntos de entrada retiene el segundo
+                    assertEquals(2, expected.size(), filter.name() + " n=" + n);
+                }
+            }
+            assertEquals(60, state.consumed());
+        }
+        assertEquals(null, new IdentityFilter().incremental("a", "b"));
+        assertEquals(null, new FilterPipeline(List.of(new RedundancyFilter(), new DouglasPeuckerFilter(1.0)))
+                .incremental("a", "b"));
+    }
+
+    @Test
+    void descriptorRebuildsAnEquivalentFilter() {
+        Random random = new Random(3);
+        PointBuffer buffer = new PointBuffer();
+        for (int i = 0; i < 50; i++) buffer.add(random.nextInt(2), random.nextInt(2));
+        Blueprint bp = new Blueprint("a", "b", buffer);
+        for (String spec : List.of("redundancy", "undersampling,range:3-12", "range:0-5,redundancy,undersampling",
+                "identity", "range:40-90")) {
+            BlueprintsFilter filter = factory.resolve(spec);
+            FilterDescriptor descriptor = filter.descriptor();
+            assertArrayEquals(filter.apply(bp).snapshot().toArray(),
+                    descriptor.toFilter().apply(bp).snapshot().toArray(), spec);
+        }
+        assertEquals(10, factory.resolve("range:40-90").apply(bp).size());
+        assertEquals(null, factory.resolve("redundancy,simplify").descriptor());
+        assertThrows(IllegalArgumentException.class, () -> factory.resolve("range:5"));
+        assertThrows(IllegalArgumentException.class, () -> factory.resolve("range:9-2"));
+    }
+
+    @Test
+    void resolvesNamesInOrder() {
+        BlueprintsFilter filter = factory.resolve("redundancy, undersampling");
+        assertEquals("redundancy,undersampling", filter.name());
+        assertEquals("undersampling", factory.resolve("undersampling").name());
+    }
+
+    @Test
+    void rejectsUnknownFilter() {
+        assertThrows(IllegalArgumentException.class, () -> factory.resolve("redundancy,blur"));
+    }
+}
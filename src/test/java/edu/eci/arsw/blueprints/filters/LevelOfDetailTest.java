@@ -0,0 +1,88 @@
+package edu.eci.arsw.blueprints.filters;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointBuffer;
+
+class LevelOfDetailTest {
+
+    @Test
+    void douglasPeuckerKeepsCornersOfAnOutline() {
+        Blueprint bp = new Blueprint("a", "b", List.of(new Point(0, 0), new Point(5, 0), new Point(10, 0),
+                new Point(10, 5), new Point(10, 10), new Point(5, 10), new Point(0, 10)));
+
+        Blueprint simplified = new DouglasPeuckerFilter(1.0).apply(bp);
+
+        assertEquals(List.of(new Point(0, 0), new Point(10, 0), new Point(10, 10), new Point(0, 10)),
+                simplified.getPoints());
+    }
+
+    @Test
+    void incrementalPyramidMatchesOneShotBuild() {
+        Random random = new Random(3);
+        Blueprint live = new Blueprint("a", "b", new PointBuffer());
+        LodPyramid incremental = new LodPyramid(6, 1.0);
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < 2_000; i++) {
+            x += random.nextInt(21) - 10;
+            y += random.nextInt(21) - 10;
+            live.addPoint(x, y);
+            if (i % 97 == 0) incremental.catchUp(live);
+        }
+        incremental.catchUp(live);
+        LodPyramid oneShot = new LodPyramid(6, 1.0);
+        oneShot.catchUp(live);
+
+        int previous = Integer.MAX_VALUE;
+        for (int k = 1; k <= 6; k++) {
+            Blueprint slice = incremental.slice(live, k);
+            assertArrayEquals(oneShot.slice(live, k).snapshot().toArray(), slice.snapshot().toArray());
+            assertTrue(slice.size() <= previous);
+            assertEquals(live.getPoints().get(0), slice.getPoints().get(0));
+            assertEquals(live.getPoints().get(live.size() - 1), slice.getPoints().get(slice.size() - 1));
+            previous = slice.size();
+        }
+        assertTrue(previous < live.size() / 4);
+    }
+
+    @Test
+    void everyPointStaysWithinTheLevelTolerance() {
+        Random random = new Random(7);
+        Blueprint live = new Blueprint("a", "b", new PointBuffer());
+        LodPyramid pyramid = new LodPyramid(6, 1.0);
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < 5_000; i++) {
+            // Tramos largos casi rectos, donde una regla de un solo paso acumula desvío
+            x += 3 + random.nextInt(3) - 1;
+            y += (i / 200) % 2 == 0 ? 1 : -1;
+            live.addPoint(x, y);
+            if (i % 101 == 0) pyramid.catchUp(live);
+        }
+        pyramid.catchUp(live);
+
+        int[] in = live.snapshot().toArray();
+        for (int k = 1; k <= 6; k++) {
+            double tolerance = 1L << (k - 1);
+            int[] out = pyramid.slice(live, k).snapshot().toArray();
+            for (int i = 0; i < in.length; i += 2) {
+                double best = Double.MAX_VALUE;
+                for (int j = 0; j + 3 < out.length; j += 2) {
+                    best = Math.min(best, DouglasPeuckerFilter.distance2(in[i], in[i + 1], out[j], out[j + 1], out[j + 2], out[j + 3]));
+                }
+                assertTrue(Math.sqrt(best) <= tolerance + 1e-9, "nivel " + k + ", punto " + i / 2);
+            }
+            assertTrue(out.length < in.length);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package edu.eci.arsw.blueprints.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class BoundingBoxTest {
+
+    @Test
+    void boxOfPointsAndEmpty() {
+        PointSnapshot pts = PointBuffer.of(List.of(new Point(3, -1), new Point(-2, 5), new Point(0, 0))).snapshot();
+        assertEquals(new BoundingBox(-2, -1, 3, 5), BoundingBox.of(pts));
+        assertNull(BoundingBox.of(new PointBuffer().snapshot()));
+    }
+
+    @Test
+    void segmentsAreTestedNotOnlyVertices() {
+        // Una L de (0,0) a (10,0) a (10,10): su caja cubre la esquina (0..2, 8..10) pero el trazo no
+        PointSnapshot l = PointBuffer.of(List.of(new Point(0, 0), new Point(10, 0), new Point(10, 10))).snapshot();
+        assertFalse(new BoundingBox(0, 8, 2, 10).touchedBy(l));
+        // Cruza el segmento horizontal sin contener ningún vértice
+        assertTrue(new BoundingBox(4, -1, 6, 1).touchedBy(l));
+        // Un punto solo cuenta si cae dentro (bordes incluidos)
+        PointSnapshot single = PointBuffer.of(List.of(new Point(5, 5))).snapshot();
+        assertTrue(new BoundingBox(5, 0, 9, 5).touchedBy(single));
+        assertFalse(new BoundingBox(6, 0, 9, 5).touchedBy(single));
+    }
+}
@@ -0,0 +1,84 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Throughput de agregados y lecturas concurrentes sobre un mismo blueprint:
+ * PointBuffer (escritores con candado, lectores por snapshot sin candado) contra
+ * una lista sincronizada donde los lectores deben tomar el candado para recorrerla.
+ * No corre con los tests; ejecutar su main.
+ */
+public class PointBufferContentionBenchmark {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final long DURATION_MS = 3_000;
+
+    interface Store {
+        void add(int x, int y);
+        long sumX();
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int round = 0; round < 2; round++) {
+            run("PointBuffer", () -> new Store() {
+                final PointBuffer buffer = new PointBuffer();
+                public void add(int x, int y) { buffer.add(x, y); }
+                public long sumX() {
+                    PointSnapshot s = buffer.snapshot();
+                    long sum = 0;
+                    // Solo la cola reciente, como un lector que sigue los últimos puntos
+                    for (int i = Math.max(0, s.size() - 1_000); i < s.size(); i++) sum += s.x(i);
+                    return sum;
+                }
+            });
+            run("synchronized ArrayList", () -> new Store() {
+                final List<Point> list = new ArrayList<>();
+                public synchronized void add(int x, int y) { list.add(new Point(x, y)); }
+                public synchronized long sumX() {
+                    long sum = 0;
+                    for (int i = Math.max(0, list.size() - 1_000); i < list.size(); i++) sum += list.get(i).x();
+                    return sum;
+                }
+            });
+        }
+    }
+
+    private static void run(String label, Supplier<Store> factory) throws Exception {
+        Store store = factory.get();
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder appends = new LongAdder();
+        LongAdder reads = new LongAdder();
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            threads.add(new Thread(() -> {
+                int i = 0;
+                while (!stop.get()) {
+                    store.add(i, i++);
+                    appends.increment();
+                }
+            }));
+        }
+        for (int r = 0; r < READERS; r++) {
+            threads.add(new Thread(() -> {
+                long sink = 0;
+                while (!stop.get()) {
+                    sink += store.sumX();
+                    reads.increment();
+                }
+                if (sink == 42) System.out.print("");
+            }));
+        }
+        threads.forEach(Thread::start);
+        Thread.sleep(DURATION_MS);
+        stop.set(true);
+        for (Thread t : threads) t.join();
+        double secs = DURATION_MS / 1000.0;
+        System.out.printf("%-24s appends %,12.0f/s   reads %,10.0f/s%n",
+                label, appends.sum() / secs, reads.sum() / secs);
+    }
+}
@@ -0,0 +1,52 @@
+package edu.eci.arsw.blueprints.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PointBufferTest {
+
+    @Test
+    void growsAndKeepsInterleavedOrder() {
+        PointBuffer buffer = new PointBuffer();
+        for (int i = 0; i < 100; i++) buffer.add(i, -i);
+
+        assertEquals(100, buffer.size());
+        assertEquals(42, buffer.x(42));
+        assertEquals(-42, buffer.y(42));
+
+        int[] dst = new int[4];
+        buffer.copyTo(10, 2, dst, 0);
+        assertArrayEquals(new int[] {10, -10, 11, -11}, dst);
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.x(100));
+    }
+
+    @Test
+    void listViewMatchesPrimitiveAccess() {
+        Blueprint bp = new Blueprint("a", "b", List.of(new Point(1, 2), new Point(3, 4)));
+        bp.addPoint(5, 6);
+
+        assertEquals(List.of(new Point(1, 2), new Point(3, 4), new Point(5, 6)), bp.getPoints());
+        assertSame(bp.getPoints(), bp.getPoints());
+        assertThrows(UnsupportedOperationException.class, () -> bp.getPoints().add(new Point(0, 0)));
+    }
+
+    @Test
+    void viewCopiesSharedArrayBeforeFirstAppend() {
+        PointBuffer owner = new PointBuffer(16);
+        owner.add(1, 1);
+        owner.add(2, 2);
+        PointBuffer view = PointBuffer.view(owner.snapshot());
+
+        view.add(9, 9);
+        owner.add(3, 3);
+
+        assertArrayEquals(new int[] {1, 1, 2, 2, 9, 9}, view.toArray());
+        assertArrayEquals(new int[] {1, 1, 2, 2, 3, 3}, owner.toArray());
+    }
+}
@@ -0,0 +1,107 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BatchingBlueprintPersistenceTest {
+
+    private static final class CountingPersistence extends InMemoryBlueprintPersistence {
+        final AtomicInteger queries = new AtomicInteger();
+
+        @Override
+        public List<Blueprint> getBlueprints(List<BlueprintKey> keys) {
+            queries.incrementAndGet();
+            return super.getBlueprints(keys);
+        }
+    }
+
+    @Test
+    void concurrentLookupsShareOneQuery() throws Exception {
+        CountingPersistence backend = new CountingPersistence();
+        // Ventana amplia para que todas las llamadas alcancen a entrar al mismo lote
+        BatchingBlueprintPersistence batching = new BatchingBlueprintPersistence(backend, 200_000, 1_000, new SimpleMeterRegistry());
+        String[][] keys = {{"john", "house"}, {"john", "garage"}, {"jane", "garden"}, {"jane", "missing"}};
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<Blueprint>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                String[] k = keys[i % keys.length];
+                results.add(pool.submit(() -> batching.getBlueprint(k[0], k[1])));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                String[] k = keys[i % keys.length];
+                if (k[1].equals("missing")) {
+                    ExecutionException e = assertThrows(ExecutionException.class, results.get(i)::get);
+                    assertTrue(e.getCause() instanceof BlueprintNotFoundException);
+                } else {
+                    assertEquals(k[1], results.get(i).get().getName());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, backend.queries.get());
+    }
+
+    @Test
+    void fullBatchDoesNotWaitForWindow() throws Exception {
+        CountingPersistence backend = new CountingPersistence();
+        // Con una ventana de un minuto solo el tope puede cerrar los lotes a tiempo
+        BatchingBlueprintPersistence batching = new BatchingBlueprintPersistence(backend, 60_000_000, 4, new SimpleMeterRegistry());
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Blueprint>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> batching.getBlueprint("john", "house")));
+            }
+            for (Future<Blueprint> f : results) {
+                assertEquals(4, f.get(10, java.util.concurrent.TimeUnit.SECONDS).size());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(2, backend.queries.get());
+    }
+
+    @Test
+    void errorInTheQueryReachesEveryCaller() throws Exception {
+        InMemoryBlueprintPersistence backend = new InMemoryBlueprintPersistence() {
+            @Override
+            public List<Blueprint> getBlueprints(List<BlueprintKey> keys) {
+                throw new OutOfMemoryError("simulado");
+            }
+        };
+        BatchingBlueprintPersistence batching = new BatchingBlueprintPersistence(backend, 200_000, 1_000, new SimpleMeterRegistry());
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Blueprint>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(pool.submit(() -> batching.getBlueprint("john", "house")));
+            }
+            for (Future<Blueprint> f : results) {
+                ExecutionException e = assertThrows(ExecutionException.class,
+                        () -> f.get(10, java.util.concurrent.TimeUnit.SECONDS));
+                assertTrue(e.getCause() instanceof OutOfMemoryError);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
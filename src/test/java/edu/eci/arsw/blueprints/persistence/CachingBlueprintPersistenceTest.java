@@ -0,0 +1,173 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CachingBlueprintPersistenceTest {
+
+    /**
+     * Backend en memoria que cuenta las lecturas y puede retenerlas hasta que se abra {@code gate}.
+     * La lectura que hace addPoint para encontrar el blueprint no cuenta ni espera.
+     */
+    private static final class CountingPersistence extends InMemoryBlueprintPersistence {
+        final AtomicInteger reads = new AtomicInteger();
+        volatile CountDownLatch gate = new CountDownLatch(0);
+        private final ThreadLocal<Boolean> writing = ThreadLocal.withInitial(() -> false);
+
+        @Override
+        public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
+            writing.set(true);
+            try {
+                super.addPoint(author, name, x, y);
+            } finally {
+                writing.remove();
+            }
+        }
+
+        @Override
+        public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
+            if (writing.get()) {
+                return super.getBlueprint(author, name);
+            }
+            reads.incrementAndGet();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.getBlueprint(author, name);
+        }
+
+        @Override
+        public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
+            reads.incrementAndGet();
+            return super.getBlueprintsByAuthor(author);
+        }
+    }
+
+    @Test
+    void hitsUntilWriteThroughSameInstance() throws Exception {
+        CountingPersistence backend = new CountingPersistence();
+        CachingBlueprintPersistence cache = new CachingBlueprintPersistence(backend, 1_000, 60_000);
+
+        Blueprint first = cache.getBlueprint("john", "house");
+        assertSame(first, cache.getBlueprint("john", "house"));
+        assertEquals(2, cache.getBlueprintsByAuthor("john").size());
+        cache.getBlueprintsByAuthor("john");
+        assertEquals(2, backend.reads.get());
+
+        cache.addPoint("john", "house", 1, 1);
+        cache.saveBlueprint(new Blueprint("john", "shed", List.of(new Point(0, 0))));
+        backend.reads.set(0);
+        assertEquals(5, cache.getBlueprint("john", "house").size());
+        assertEquals(3, cache.getBlueprintsByAuthor("john").size());
+        assertEquals(2, backend.reads.get());
+        assertEquals(2, cache.stats().hits());
+
+        assertThrows(BlueprintNotFoundException.class, () -> cache.getBlueprint("nobody", "x"));
+    }
+
+    @Test
+    void entriesExpireAndEvictByPoints() throws Exception {
+        CountingPersistence backend = new CountingPersistence();
+        CachingBlueprintPersistence expiring = new CachingBlueprintPersistence(backend, 1_000, 0);
+        expiring.getBlueprint("john", "house");
+        Thread.sleep(1);
+        expiring.getBlueprint("john", "house");
+        assertEquals(2, backend.reads.get());
+
+        // house tiene 4 puntos y garage 3: no caben juntos en 5
+        CachingBlueprintPersistence small = new CachingBlueprintPersistence(backend, 5, 60_000);
+        small.getBlueprint("john", "house");
+        small.getBlueprint("john", "garage");
+        assertEquals(1, small.stats().evictions());
+        assertEquals(3, small.stats().points());
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        CountingPersistence backend = new CountingPersistence();
+        backend.gate = new CountDownLatch(1);
+        CachingBlueprintPersistence cache = new CachingBlueprintPersistence(backend, 1_000, 60_000);
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Blueprint>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(pool.submit(() -> cache.getBlueprint("jane", "garden")));
+            }
+            while (cache.stats().coalesced() < 15) {
+                Thread.onSpinWait();
+            }
+            backend.gate.countDown();
+            Blueprint loaded = results.get(0).get();
+            for (Future<Blueprint> f : results) assertSame(loaded, f.get());
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, backend.reads.get());
+    }
+
+    @Test
+    void onlyWritesToTheLoadedKeyDiscardALoadInFlight() throws Exception {
+        CountingPersistence backend = new CountingPersistence();
+        CachingBlueprintPersistence cache = new CachingBlueprintPersistence(backend, 1_000, 60_000);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            backend.gate = new CountDownLatch(1);
+            Future<Blueprint> house = pool.submit(() -> cache.getBlueprint("john", "house"));
+            while (backend.reads.get() < 1) {
+                Thread.onSpinWait();
+            }
+            cache.addPoint("jane", "garden", 1, 1);
+            backend.gate.countDown();
+            assertSame(house.get(), cache.getBlueprint("john", "house"));
+
+            backend.gate = new CountDownLatch(1);
+            Future<Blueprint> garage = pool.submit(() -> cache.getBlueprint("john", "garage"));
+            while (backend.reads.get() < 2) {
+                Thread.onSpinWait();
+            }
+            cache.addPoint("john", "garage", 1, 1);
+            backend.gate.countDown();
+            garage.get();
+            cache.getBlueprint("john", "garage");
+            assertEquals(3, backend.reads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void closeReachesTheWrappedPersistence() throws Exception {
+        AtomicInteger closed = new AtomicInteger();
+        final class ClosingPersistence extends InMemoryBlueprintPersistence implements AutoCloseable {
+            @Override
+            public void close() {
+                closed.incrementAndGet();
+            }
+        }
+        BatchingBlueprintPersistence batching = new BatchingBlueprintPersistence(new ClosingPersistence(), 500, 16,
+                new SimpleMeterRegistry());
+        new CachingBlueprintPersistence(batching, 1_000, 60_000).close();
+
+        assertEquals(1, closed.get());
+    }
+}
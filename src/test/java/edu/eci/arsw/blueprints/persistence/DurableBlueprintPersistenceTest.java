@@ -0,0 +1,103 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+
+class DurableBlueprintPersistenceTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void createDir() throws IOException {
+        dir = Files.createTempDirectory("blueprints-durable");
+    }
+
+    @AfterEach
+    void deleteDir() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        }
+    }
+
+    private DurableBlueprintPersistence open() throws IOException {
+        return new DurableBlueprintPersistence(dir.toString(), 1 << 12, 0, 256);
+    }
+
+    @Test
+    void logIsReplayedAfterCrash() throws Exception {
+        DurableBlueprintPersistence first = open();
+        first.saveBlueprint(new Blueprint("ana", "office", List.of(new Point(1, 1))));
+        first.addPoint("ana", "office", 2, 2);
+        // Más que un segmento de 4 KB: la recuperación recorre varios
+        for (int i = 0; i < 500; i++) {
+            first.addPoints("ana", "office", List.of(new Point(i, -i), new Point(-i, i)));
+        }
+        assertThrows(BlueprintPersistenceException.class,
+                () -> first.saveBlueprint(new Blueprint("ana", "office", List.of(new Point(0, 0)))));
+        assertTrue(BlueprintLog.segments(dir).size() > 1);
+
+        // Sin close(): como si el proceso muriera; lo escrito ya está en disco
+        DurableBlueprintPersistence second = open();
+        Blueprint bp = second.getBlueprint("ana", "office");
+        assertArrayEquals(first.getBlueprint("ana", "office").snapshot().toArray(), bp.snapshot().toArray());
+        assertEquals(new StorageStats(1, 1002), second.storageStats());
+    }
+
+    @Test
+    void snapshotReplacesOldSegments() throws Exception {
+        DurableBlueprintPersistence first = open();
+        first.saveBlueprints(List.of(
+                new Blueprint("ana", "a", List.of(new Point(1, 1))),
+                new Blueprint("john", "b", List.of(new Point(2, 2)))));
+        for (int i = 0; i < 300; i++) first.addPoint("john", "b", i, i);
+        first.snapshot();
+        first.addPoint("ana", "a", 7, 7);
+        assertEquals(1, BlueprintLog.segments(dir).size());
+
+        DurableBlueprintPersistence second = open();
+        assertEquals(301, second.getBlueprint("john", "b").size());
+        assertEquals(new Point(7, 7), second.getBlueprint("ana", "a").getPoints().get(1));
+    }
+
+    @Test
+    void tornTailIsDiscardedAndOverwritten() throws Exception {
+        DurableBlueprintPersistence first = open();
+        first.saveBlueprint(new Blueprint("ana", "a", List.of(new Point(1, 1))));
+        long end = lastSegmentEnd();
+        try (RandomAccessFile f = new RandomAccessFile(BlueprintLog.segmentPath(dir, 0).toFile(), "rw")) {
+            // Encabezado de un registro que promete más bytes de los que llegaron a escribirse
+            f.seek(end);
+            f.writeInt(100);
+            f.writeInt(12345);
+            f.write(new byte[] {1, 9, 9, 9});
+        }
+
+        DurableBlueprintPersistence second = open();
+        assertEquals(1, second.getAllBlueprints().size());
+        second.addPoint("ana", "a", 2, 2);
+
+        DurableBlueprintPersistence third = open();
+        assertEquals(2, third.getBlueprint("ana", "a").size());
+    }
+
+    private long lastSegmentEnd() throws IOException {
+        return BlueprintLog.replay(BlueprintLog.segmentPath(dir, 0), (type, payload) -> { }).end();
+    }
+}
@@ -0,0 +1,59 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+
+/**
+ * Compara la consulta por autor usando el índice secundario contra el recorrido completo
+ * del mapa (comportamiento anterior) con 1M de blueprints repartidos en 10k autores.
+ * No corre con los tests; ejecutar su main con -Xmx2g.
+ */
+public class InMemoryAuthorIndexBenchmark {
+
+    private static final int BLUEPRINTS = 1_000_000;
+    private static final int AUTHORS = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        List<Point> pts = List.of(new Point(0, 0));
+        for (int i = 0; i < BLUEPRINTS; i++) {
+            persistence.saveBlueprint(new Blueprint("author" + (i % AUTHORS), "bp" + i, pts));
+        }
+
+        int indexed = 20_000;
+        int scans = 20;
+        for (int round = 0; round < 3; round++) {
+            long t0 = System.nanoTime();
+            long found = 0;
+            for (int i = 0; i < indexed; i++) {
+                found += persistence.getBlueprintsByAuthor(randomAuthor()).size();
+            }
+            double indexUs = (System.nanoTime() - t0) / 1e3 / indexed;
+
+            t0 = System.nanoTime();
+            for (int i = 0; i < scans; i++) {
+                found += scanByAuthor(persistence, randomAuthor()).size();
+            }
+            double scanUs = (System.nanoTime() - t0) / 1e3 / scans;
+
+            System.out.printf("round %d: index %.2f us/op, full scan %.2f us/op (x%.0f) [%d]%n",
+                    round, indexUs, scanUs, scanUs / indexUs, found);
+        }
+    }
+
+    private static String randomAuthor() {
+        return "author" + ThreadLocalRandom.current().nextInt(AUTHORS);
+    }
+
+    private static List<Blueprint> scanByAuthor(InMemoryBlueprintPersistence persistence, String author) {
+        List<Blueprint> out = new ArrayList<>();
+        persistence.forEachBlueprint(bp -> {
+            if (bp.getAuthor().equals(author)) out.add(bp);
+        });
+        return out;
+    }
+}
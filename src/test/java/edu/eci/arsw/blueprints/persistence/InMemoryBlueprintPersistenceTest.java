@@ -0,0 +1,256 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import edu.eci.arsw.blueprints.filters.RedundancyFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointSnapshot;
+
+class InMemoryBlueprintPersistenceTest {
+
+    @Test
+    void authorIndexFollowsSaves() throws Exception {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        persistence.saveBlueprint(new Blueprint("john", "kitchen", List.of(new Point(1, 1))));
+        persistence.saveBlueprint(new Blueprint("ana", "office", List.of(new Point(2, 2))));
+
+        Set<Blueprint> john = persistence.getBlueprintsByAuthor("john");
+        assertEquals(3, john.size());
+        assertTrue(john.stream().allMatch(bp -> bp.getAuthor().equals("john")));
+        assertEquals(1, persistence.getBlueprintsByAuthor("ana").size());
+    }
+
+    @Test
+    void boxSearchFollowsAppends() throws Exception {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence(16);
+        persistence.saveBlueprint(new Blueprint("ana", "far", List.of(new Point(10_000, 10_000))));
+        BoundingBox query = new BoundingBox(20_000, 20_000, 20_100, 20_100);
+        assertTrue(persistence.getBlueprintsInBox(query).isEmpty());
+
+        // La caja crece hasta cubrir la consulta sin que ningún punto caiga dentro de ella
+        persistence.addPoints("ana", "far", List.of(new Point(30_000, 30_000)));
+        assertEquals(List.of("far"), persistence.getBlueprintsInBox(query).stream().map(Blueprint::getName).toList());
+
+        // Una caja de millones de celdas va a la lista aparte y se sigue encontrando
+        persistence.saveBlueprint(new Blueprint("ana", "huge", List.of(new Point(-1_000_000, -1_000_000))));
+        persistence.addPoint("ana", "huge", 1_000_000, 1_000_000);
+        assertEquals(2, persistence.getBlueprintsInBox(query).size());
+        assertEquals(1, persistence.getBlueprintsInBox(new BoundingBox(-500_000, 0, -499_000, 10)).size());
+    }
+
+    @Test
+    void storageStatsFollowWrites() throws Exception {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        assertEquals(new StorageStats(3, 10), persistence.storageStats());
+
+        persistence.saveBlueprint(new Blueprint("ana", "office", List.of(new Point(2, 2), new Point(3, 3))));
+        persistence.addPoint("ana", "office", 4, 4);
+        persistence.addPoints("john", "house", List.of(new Point(5, 5), new Point(6, 6)));
+        assertThrows(BlueprintPersistenceException.class, () -> persistence.saveBlueprints(List.of(
+                new Blueprint("ana", "new", List.of(new Point(0, 0))),
+                new Blueprint("john", "house", List.of(new Point(0, 0))))));
+
+        assertEquals(new StorageStats(4, 15), persistence.storageStats());
+    }
+
+    @Test
+    void appendsRacingASaveAreCountedOnce() throws Exception {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            for (int i = 0; i < 200; i++) {
+                String name = "race" + i;
+                // Reintenta hasta que el guardado publica el blueprint y le agrega un punto en cuanto se ve
+                Future<?> append = pool.submit(() -> {
+                    while (true) {
+                        try {
+                            persistence.addPoint("ana", name, 9, 9);
+                            return null;
+                        } catch (BlueprintNotFoundException e) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                });
+                persistence.saveBlueprint(new Blueprint("ana", name, List.of(new Point(1, 1))));
+                append.get(5, TimeUnit.SECONDS);
+                assertEquals(2, persistence.getSummariesByAuthor("ana").stream()
+                        .filter(sm -> sm.name().equals(name)).findFirst().orElseThrow().points());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(new StorageStats(203, 10 + 400), persistence.storageStats());
+    }
+
+    @Test
+    void versionsGrowWithAppends() throws Exception {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        long before = persistence.getVersion("john", "house");
+        List<BlueprintVersion> page = persistence.getVersionsPage(null, null, 10);
+
+        persistence.addPoint("john", "house", 1, 1);
+
+        assertTrue(persistence.getVersion("john", "house") > before);
+        assertEquals(page.size(), persistence.getVersionsPage(null, null, 10).size());
+        assertTrue(persistence.getVersionsByAuthor("john").contains(
+                new BlueprintVersion("john", "house", persistence.getVersion("john", "house"))));
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getVersion("john", "missing"));
+    }
+
+    @Test
+    void duplicateSaveDoesNotTouchIndex() throws Exception {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        assertThrows(BlueprintPersistenceException.class,
+                () -> persistence.saveBlueprint(new Blueprint("john", "house", List.of(new Point(9, 9)))));
+        assertEquals(2, persistence.getBlueprintsByAuthor("john").size());
+    }
+
+    @Test
+    void bulkSaveIsAllOrNothing() throws Exception {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        List<Blueprint> batch = List.of(
+                new Blueprint("ana", "one", List.of(new Point(1, 1))),
+                new Blueprint("john", "house", List.of(new Point(2, 2))));
+
+        assertThrows(BlueprintPersistenceException.class, () -> persistence.saveBlueprints(batch));
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getBlueprint("ana", "one"));
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getBlueprintsByAuthor("ana"));
+    }
+
+    @Test
+    void importStreamsIntoTheMapUntilADuplicate() throws Exception {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        Iterator<Blueprint> generated = IntStream.range(0, 2500)
+                .mapToObj(i -> new Blueprint("bulk", "bp" + i, List.of(new Point(i, i))))
+                .iterator();
+
+        assertEquals(2500, persistence.importBlueprints(generated));
+        assertEquals(2500, persistence.getBlueprintsByAuthor("bulk").size());
+        assertEquals(new Point(42, 42), persistence.getBlueprint("bulk", "bp42").getPoints().get(0));
+
+        Iterator<Blueprint> withDuplicate = List.of(
+                new Blueprint("ana", "one", List.of(new Point(1, 1))),
+                new Blueprint("john", "house", List.of(new Point(2, 2)))).iterator();
+        assertThrows(BlueprintPersistenceException.class, () -> persistence.importBlueprints(withDuplicate));
+        // Sin transacción: lo anterior al duplicado queda guardado
+        assertEquals(1, persistence.getBlueprint("ana", "one").size());
+    }
+
+    @Test
+    void summariesFollowWritesWithoutReadingPoints() throws Exception {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        persistence.saveBlueprint(new Blueprint("ana", "line", List.of(new Point(0, 0), new Point(4, 2))));
+        persistence.addPoint("ana", "line", 2, -5);
+        persistence.addPoints("ana", "line", List.of(new Point(10, 3)));
+        persistence.saveBlueprint(new Blueprint("ana", "empty", List.of()));
+
+        BlueprintSummary line = persistence.getSummariesByAuthor("ana").stream()
+                .filter(s -> s.name().equals("line")).findFirst().orElseThrow();
+        assertEquals(4, line.points());
+        assertEquals(persistence.getBlueprint("ana", "line").version(), line.version());
+        assertEquals(new BoundingBox(0, -5, 10, 3), line.box());
+        assertEquals(new BlueprintSummary.Centroid(4.0, 0.0), line.centroid());
+        assertEquals(BlueprintSummary.of(persistence.getBlueprint("ana", "line")), line);
+
+        BlueprintSummary empty = persistence.getSummariesPage(null, null, 1).get(0);
+        assertEquals("empty", empty.name());
+        assertEquals(0, empty.points());
+        assertNull(empty.box());
+        assertNull(empty.centroid());
+        assertEquals("line", persistence.getSummariesPage("ana", "empty", 1).get(0).name());
+
+        // john/house (4 puntos), john/garage (3), jane/garden (3), ana/line (4), ana/empty (0)
+        SummaryTotals totals = persistence.getSummaryTotals();
+        assertEquals(5, totals.blueprints());
+        assertEquals(14, totals.points());
+        assertEquals(new BoundingBox(0, -5, 15, 15), totals.box());
+        assertEquals(new SummaryTotals(2, 4, line.box(), line.centroid()), SummaryTotals.of(List.of(line, empty)));
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getSummariesByAuthor("nobody"));
+    }
+
+    @Test
+    void addPointsAppendsWholeBatch() throws Exception {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        persistence.addPoints("jane", "garden", List.of(new Point(7, 7), new Point(8, 8)));
+
+        Blueprint bp = persistence.getBlueprint("jane", "garden");
+        assertEquals(5, bp.size());
+        assertEquals(new Point(8, 8), bp.getPoints().get(4));
+        assertEquals(5, bp.version());
+    }
+
+    @Test
+    void unknownAuthorIsNotFound() {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getBlueprintsByAuthor("nobody"));
+    }
+
+    @Test
+    void concurrentAddPointsAreNotLostAndReadersSeeConsistentSnapshots() throws Exception {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        persistence.saveBlueprint(new Blueprint("stress", "bp", List.of()));
+        int writers = 8;
+        int perWriter = 20_000;
+        int readers = 4;
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers + readers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int id = w;
+            tasks.add(pool.submit(() -> {
+                start.await();
+                for (int seq = 0; seq < perWriter; seq++) persistence.addPoint("stress", "bp", id, seq);
+                return null;
+            }));
+        }
+        RedundancyFilter filter = new RedundancyFilter();
+        for (int r = 0; r < readers; r++) {
+            tasks.add(pool.submit(() -> {
+                start.await();
+                Blueprint bp = persistence.getBlueprint("stress", "bp");
+                while (!done.get()) {
+                    PointSnapshot snapshot = bp.snapshot();
+                    // Cada escritor agrega su secuencia en orden: en una snapshot no puede haber huecos
+                    int[] next = new int[writers];
+                    for (int i = 0; i < snapshot.size(); i++) {
+                        assertEquals(next[snapshot.x(i)]++, snapshot.y(i));
+                    }
+                    for (Point p : bp.getPoints()) assertTrue(p.x() < writers);
+                    filter.apply(bp);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> task : tasks.subList(0, writers)) task.get(60, TimeUnit.SECONDS);
+        done.set(true);
+        for (Future<?> task : tasks) task.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        Blueprint bp = persistence.getBlueprint("stress", "bp");
+        assertEquals(writers * perWriter, bp.size());
+        assertEquals(writers * perWriter, bp.version());
+    }
+}
@@ -0,0 +1,185 @@
+package edu.eci.arsw.blueprints.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+
+class BlueprintUpdateHubTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    /** Desde dónde leyó flush la cola de cada pasada. */
+    private final List<Integer> tailsFrom = new CopyOnWriteArrayList<>();
+    private final InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence() {
+        @Override
+        public List<Point> getPointsSince(String author, String name, int from) throws BlueprintNotFoundException {
+            tailsFrom.add(from);
+            return super.getPointsSince(author, name, from);
+        }
+    };
+    private final BlueprintUpdateHub hub = new BlueprintUpdateHub(persistence, mapper, 3);
+
+    /**
+     * Guarda los eventos recibidos; si {@code gate} está cerrado, el envío se queda esperando
+     * como un cliente lento.
+     */
+    private static final class RecordingSink implements BlueprintUpdateHub.EventSink {
+        final BlockingQueue<String[]> events = new LinkedBlockingQueue<>();
+        volatile CountDownLatch gate = new CountDownLatch(0);
+
+        @Override
+        public void send(String event, String json) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(new String[] {event, json});
+        }
+
+        @Override
+        public void close(Throwable error) {
+        }
+    }
+
+    @AfterEach
+    void close() {
+        hub.close();
+    }
+
+    private void append(String author, String name, int x, int y) throws BlueprintNotFoundException {
+        persistence.addPoint(author, name, x, y);
+        hub.changed(author, name);
+    }
+
+    private JsonNode next(RecordingSink sink, String event) throws Exception {
+        String[] e = sink.events.poll(5, TimeUnit.SECONDS);
+        assertEquals(event, e[0]);
+        return mapper.readTree(e[1]);
+    }
+
+    @Test
+    void snapshotThenOnlyNewPointsInBatches() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe("john", "house", sink);
+        JsonNode snapshot = next(sink, "snapshot");
+        assertEquals(4, snapshot.get("version").asInt());
+        assertEquals(4, snapshot.get("points").size());
+
+        for (int i = 0; i < 5; i++) append("john", "house", 100 + i, i);
+        append("john", "garage", 1, 1);
+        hub.flush();
+
+        JsonNode first = next(sink, "points");
+        assertEquals(4, first.get("from").asInt());
+        assertEquals(7, first.get("version").asInt());
+        assertEquals(100, first.get("points").get(0).get("x").asInt());
+        JsonNode second = next(sink, "points");
+        assertEquals(7, second.get("from").asInt());
+        assertEquals(9, second.get("version").asInt());
+        assertEquals(2, second.get("points").size());
+
+        hub.flush();
+        assertNull(sink.events.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void slowSubscriberGetsOneMergedDeltaAndDoesNotBlockWriters() throws Exception {
+        RecordingSink slow = new RecordingSink();
+        RecordingSink fast = new RecordingSink();
+        hub.subscribeAuthor("john", slow);
+        hub.subscribe("john", "house", fast);
+        next(fast, "snapshot");
+        next(slow, "snapshot");
+        next(slow, "snapshot");
+
+        slow.gate = new CountDownLatch(1);
+        append("john", "house", 1, 1);
+        hub.flush();
+        next(fast, "points");
+        // El lento está atascado enviando; las escrituras y los demás suscriptores siguen
+        append("john", "house", 2, 2);
+        hub.flush();
+        assertEquals(6, next(fast, "points").get("version").asInt());
+        append("john", "house", 3, 3);
+        hub.flush();
+        assertEquals(7, next(fast, "points").get("version").asInt());
+
+        // Tres escrituras mientras estaba atascado: a lo sumo dos eventos, contiguos y sin repetir
+        slow.gate.countDown();
+        int version = 4;
+        int events = 0;
+        while (version < 7) {
+            JsonNode delta = next(slow, "points");
+            assertEquals(version, delta.get("from").asInt());
+            version = delta.get("version").asInt();
+            events++;
+        }
+        assertTrue(events <= 2);
+        assertNull(slow.events.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void flushReadsOnlyTheTailAfterTheSlowestSubscriber() throws Exception {
+        RecordingSink first = new RecordingSink();
+        hub.subscribe("john", "house", first);
+        next(first, "snapshot");
+        append("john", "house", 1, 1);
+        hub.flush();
+        next(first, "points");
+
+        RecordingSink second = new RecordingSink();
+        hub.subscribe("john", "house", second);
+        assertEquals(5, next(second, "snapshot").get("version").asInt());
+        append("john", "house", 2, 2);
+        append("john", "house", 3, 3);
+        hub.flush();
+
+        assertEquals(List.of(4, 5), tailsFrom);
+        JsonNode delta = next(second, "points");
+        assertEquals(5, delta.get("from").asInt());
+        assertEquals(7, delta.get("version").asInt());
+        assertEquals(7, next(first, "points").get("version").asInt());
+    }
+
+    @Test
+    void authorSubscriptionSeesNewBlueprintsAndCancelStopsEvents() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        BlueprintUpdateHub.Subscription sub = hub.subscribeAuthor("jane", sink);
+        next(sink, "snapshot");
+
+        persistence.saveBlueprint(new Blueprint("jane", "pool", List.of(new Point(5, 5))));
+        hub.changed("jane", "pool");
+        hub.flush();
+        JsonNode created = next(sink, "points");
+        assertEquals("pool", created.get("name").asText());
+        assertEquals(0, created.get("from").asInt());
+
+        sub.cancel();
+        assertEquals(0, hub.subscribers());
+        append("jane", "pool", 6, 6);
+        hub.flush();
+        assertNull(sink.events.poll(100, TimeUnit.MILLISECONDS));
+
+        assertThrows(BlueprintNotFoundException.class, () -> hub.subscribe("nobody", "x", new RecordingSink()));
+        assertEquals(0, hub.subscribers());
+    }
+}
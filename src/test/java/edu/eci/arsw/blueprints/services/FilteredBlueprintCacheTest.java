@@ -0,0 +1,130 @@
+package edu.eci.arsw.blueprints.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.eci.arsw.blueprints.filters.DouglasPeuckerFilter;
+import edu.eci.arsw.blueprints.filters.RedundancyFilter;
+import edu.eci.arsw.blueprints.filters.UndersamplingFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+
+class FilteredBlueprintCacheTest {
+
+    private final RedundancyFilter filter = new RedundancyFilter();
+
+    @Test
+    void reusesResultUntilVersionChanges() {
+        FilteredBlueprintCache cache = new FilteredBlueprintCache(1_000);
+        Blueprint bp = new Blueprint("a", "b", List.of(new Point(1, 1), new Point(1, 1), new Point(2, 2)));
+
+        Blueprint first = cache.apply(filter, bp);
+        assertSame(first, cache.apply(filter, bp));
+        assertEquals(2, first.size());
+
+        bp.addPoint(3, 3);
+        Blueprint second = cache.apply(filter, bp);
+        assertNotSame(first, second);
+        assertEquals(3, second.size());
+
+        FilteredBlueprintCache.CacheStats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.incremental());
+    }
+
+    @Test
+    void appendKeepsIncrementalStateAndDropsTheRest() {
+        FilteredBlueprintCache cache = new FilteredBlueprintCache(1_000);
+        DouglasPeuckerFilter simplify = new DouglasPeuckerFilter(1.0);
+        UndersamplingFilter undersampling = new UndersamplingFilter();
+        Blueprint bp = new Blueprint("a", "b", List.of(new Point(0, 0), new Point(1, 1)));
+        cache.apply(simplify, bp);
+        // Con 2 puntos undersampling los conserva todos aunque el estado retenga el segundo
+        assertEquals(2, cache.apply(undersampling, bp).size());
+
+        for (int i = 2; i < 9; i++) {
+            bp.addPoint(i, i);
+            cache.appended("a", "b");
+            assertEquals(1, cache.stats().entries());
+            Blueprint filtered = cache.apply(undersampling, bp);
+            assertEquals(i / 2 + 1, filtered.size());
+            assertEquals(new Point(i & ~1, i & ~1), filtered.getPoints().get(filtered.size() - 1));
+        }
+        assertEquals(2, cache.stats().misses());
+        assertEquals(7, cache.stats().incremental());
+
+        cache.invalidate("a", "b");
+        assertEquals(0, cache.stats().entries());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedByPointCount() {
+        FilteredBlueprintCache cache = new FilteredBlueprintCache(5);
+        Blueprint a = new Blueprint("x", "a", List.of(new Point(0, 0), new Point(1, 1), new Point(2, 2)));
+        Blueprint b = new Blueprint("x", "b", List.of(new Point(0, 0), new Point(1, 1), new Point(2, 2)));
+
+        cache.apply(filter, a);
+        cache.apply(filter, b);
+
+        FilteredBlueprintCache.CacheStats stats = cache.stats();
+        assertEquals(1, stats.evictions());
+        assertEquals(1, stats.entries());
+        assertEquals(3, stats.points());
+    }
+
+    @Test
+    void invalidateDropsEntries() {
+        FilteredBlueprintCache cache = new FilteredBlueprintCache(1_000);
+        Blueprint bp = new Blueprint("a", "b", List.of(new Point(1, 1), new Point(2, 2)));
+        cache.apply(filter, bp);
+
+        cache.invalidate("a", "b");
+
+        assertEquals(0, cache.stats().entries());
+        assertEquals(0, cache.stats().points());
+    }
+
+    @Test
+    void invalidateOnlyDropsThatBlueprint() {
+        FilteredBlueprintCache cache = new FilteredBlueprintCache(1_000);
+        Blueprint a = new Blueprint("x", "a", List.of(new Point(1, 1), new Point(1, 1), new Point(2, 2)));
+        Blueprint b = new Blueprint("x", "b", List.of(new Point(1, 1), new Point(1, 1), new Point(2, 2)));
+        cache.apply(filter, a);
+        cache.apply(new DouglasPeuckerFilter(1.0), a);
+        Blueprint kept = cache.apply(filter, b);
+
+        cache.invalidate("x", "a");
+        cache.appended("x", "a");
+
+        assertEquals(1, cache.stats().entries());
+        assertEquals(2, cache.stats().points());
+        assertSame(kept, cache.apply(filter, b));
+    }
+
+    @Test
+    void onlyTheFirstRecentReadWithoutAnEntryIsPushedDown() {
+        FilteredBlueprintCache cache = new FilteredBlueprintCache(1_000);
+        Blueprint bp = new Blueprint("a", "c", List.of(new Point(1, 1), new Point(1, 1)));
+
+        assertTrue(cache.firstRead("a", "b", filter.name()));
+        assertFalse(cache.firstRead("a", "b", filter.name()));
+        assertTrue(cache.firstRead("a", null, filter.name()));
+        assertFalse(cache.firstRead("a", null, filter.name()));
+
+        // Con resultado guardado la lectura va por el caché aunque la llave no se haya visto
+        cache.apply(filter, bp);
+        assertFalse(cache.firstRead("a", "c", filter.name()));
+
+        FilteredBlueprintCache disabled = new FilteredBlueprintCache(0);
+        assertTrue(disabled.firstRead("a", "b", filter.name()));
+        assertTrue(disabled.firstRead("a", "b", filter.name()));
+    }
+}
@@ -0,0 +1,46 @@
+package edu.eci.arsw.blueprints.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class VersionedBlueprintLruTest {
+
+    private final VersionedBlueprintLru<String> lru = new VersionedBlueprintLru<>(10, String::length);
+
+    @Test
+    void evictsLeastRecentlyUsedByWeight() {
+        lru.put("a", "b", "f", 1, "xxxx");
+        lru.put("a", "c", "f", 1, "xxxx");
+        lru.get("a", "b", "f");
+        lru.put("a", "d", "f", 1, "xxxx");
+
+        assertTrue(lru.contains("a", "b", "f"));
+        assertFalse(lru.contains("a", "c", "f"));
+        assertEquals(8, lru.weight());
+        assertEquals(1, lru.evictions());
+
+        // Más pesado que todo el caché: no se guarda ni desaloja nada
+        lru.put("a", "e", "f", 1, "x".repeat(11));
+        assertEquals(2, lru.size());
+    }
+
+    @Test
+    void keepsNewerVersionAndInvalidatesPerBlueprint() {
+        lru.put("a", "b", "f", 2, "new");
+        lru.put("a", "b", "f", 1, "old");
+        assertEquals("new", lru.get("a", "b", "f").value());
+
+        lru.put("a", "b", "g", 2, "keep");
+        lru.put("a", "c", "f", 2, "other");
+        lru.removeIf("a", "b", v -> !v.equals("keep"));
+        assertFalse(lru.contains("a", "b", "f"));
+        assertTrue(lru.contains("a", "b", "g"));
+
+        lru.invalidate("a", "b");
+        assertEquals(1, lru.size());
+        assertEquals(5, lru.weight());
+    }
+}